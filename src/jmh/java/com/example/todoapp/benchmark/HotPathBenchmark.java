@@ -0,0 +1,131 @@
+package com.example.todoapp.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import com.example.todoapp.annotation.validation.TurkcellEmailValidator;
+import com.example.todoapp.dto.ErrorResponse;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.exception.GlobalExceptionHandler;
+import com.example.todoapp.exception.ResourceNotFoundException;
+import com.example.todoapp.mapper.TodoMapper;
+import com.example.todoapp.mapper.TodoMapperImpl;
+import com.example.todoapp.model.Todo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation throughput of the code every todo request runs: entity to DTO mapping, the
+ * e-mail domain validator, Jackson serialization of a page as the VIA_DTO PagedModel, and error
+ * response building. Run with {@code -prof gc} (the benchmark profile default) to see the
+ * allocation rate per operation next to the score. Token verification is in
+ * {@link JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    private final TodoMapper todoMapper = new TodoMapperImpl();
+    private final TurkcellEmailValidator emailValidator = new TurkcellEmailValidator();
+    private final GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+
+    private ObjectMapper objectMapper;
+    private Todo todo;
+    private List<Todo> todos;
+    private PagedModel<TodoResponse> page;
+    private ResourceNotFoundException notFound;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // the handler logs every error; that cost depends on the appender, not on this code
+        ((Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class)).setLevel(ch.qos.logback.classic.Level.OFF);
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        todos = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            todos.add(todo(i));
+        }
+        todo = todos.get(0);
+        page = new PagedModel<>(new PageImpl<>(todoMapper.toResponseList(todos),
+                PageRequest.of(0, pageSize, Sort.by("createdAt").descending()), 1_000));
+        notFound = new ResourceNotFoundException("Todo bulunamadı, id: 42");
+    }
+
+    @Benchmark
+    public TodoResponse mapToResponse() {
+        return todoMapper.toResponse(todo);
+    }
+
+    @Benchmark
+    public List<TodoResponse> mapToResponseList() {
+        return todoMapper.toResponseList(todos);
+    }
+
+    @Benchmark
+    public boolean validateAllowedEmail() {
+        return emailValidator.isValid("ahmet.yilmaz@turkcell.com.tr", null);
+    }
+
+    @Benchmark
+    public boolean validateForeignEmail() {
+        return emailValidator.isValid("ahmet.yilmaz@example.com", null);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> buildNotFoundResponse() {
+        return exceptionHandler.handleResourceNotFoundException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> buildIllegalArgumentResponse() {
+        return exceptionHandler.handleIllegalArgumentException(new IllegalArgumentException("Geçersiz sıralama alanı"));
+    }
+
+    private static Todo todo(int i) {
+        Todo todo = new Todo();
+        todo.setId((long) i + 1);
+        todo.setTitle("Benchmark todo " + i);
+        todo.setDescription("Hot path benchmark fixture");
+        todo.setCompleted(i % 3 == 0);
+        todo.setCreatedAt(1_700_000_000_000L + i);
+        todo.setDeadline(i % 2 == 0 ? 1_800_000_000_000L + i : null);
+        todo.setPriority(Priority.values()[i % Priority.values().length]);
+        todo.setTags(new ArrayList<>(List.of("work", "tag-" + (i % 5))));
+        todo.setUserEmail("benchmark@turkcell.com.tr");
+        return todo;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.todoapp.benchmark;
+
+import com.example.todoapp.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification cost: the previous filter path (two parses, each rebuilding the
+ * parser and decoding the secret), one parse with a prebuilt parser, and a verified-token cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "dGhpcy1pcy1hLWJlbmNobWFyay1zZWNyZXQtZm9yLWp3dC12ZXJpZmljYXRpb24=";
+
+    private String token;
+    private JwtService uncached;
+    private JwtService cached;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        token = Jwts.builder()
+                .subject("benchmark@turkcell.com.tr")
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+        uncached = new JwtService(SECRET, 0);
+        cached = new JwtService(SECRET, 10_000);
+    }
+
+    @Benchmark
+    public boolean twoParsesRebuildingParser() {
+        String subject = legacyClaims(token).getSubject();
+        return subject != null && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken singleParse() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken cacheHit() {
+        return cached.verify(token);
+    }
+
+    // what extractUsername + isTokenValid did before
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
\ No newline at end of file
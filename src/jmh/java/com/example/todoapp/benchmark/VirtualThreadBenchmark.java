@@ -0,0 +1,133 @@
+package com.example.todoapp.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completes a burst of concurrent requests that each block on a slow HTTP downstream, once on a
+ * platform pool sized like Tomcat's default and once on virtual threads. The synchronized variant
+ * shows what a monitor held across blocking I/O does to virtual threads (carrier pinning).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    private static final byte[] RESPONSE_BODY =
+            "{\"current\":{\"temp_c\":21.0}}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String threads;
+
+    @Param({"2000"})
+    public int concurrentRequests;
+
+    @Param({"50"})
+    public int downstreamLatencyMs;
+
+    private HttpServer downstream;
+    private ExecutorService downstreamExecutor;
+    private URL downstreamUrl;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        downstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        downstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        downstream.setExecutor(downstreamExecutor);
+        downstream.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(downstreamLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, RESPONSE_BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(RESPONSE_BODY);
+            }
+        });
+        downstream.start();
+        downstreamUrl = URI.create("http://127.0.0.1:" + downstream.getAddress().getPort() + "/slow").toURL();
+
+        executor = "VIRTUAL".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        downstream.stop(0);
+        downstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public long blockingCalls() throws Exception {
+        return runConcurrently(this::callDownstream);
+    }
+
+    @Benchmark
+    public long blockingCallsInsideSynchronized() throws Exception {
+        return runConcurrently(() -> {
+            Object monitor = new Object();
+            synchronized (monitor) {
+                return callDownstream();
+            }
+        });
+    }
+
+    private long runConcurrently(Callable<Integer> call) throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures.add(executor.submit(call));
+        }
+        long bytes = 0;
+        for (Future<Integer> future : futures) {
+            bytes += future.get();
+        }
+        return bytes;
+    }
+
+    private int callDownstream() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) downstreamUrl.openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            return in.readAllBytes().length;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
\ No newline at end of file
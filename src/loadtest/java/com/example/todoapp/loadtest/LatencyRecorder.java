@@ -0,0 +1,83 @@
+package com.example.todoapp.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// latencies of one worker per endpoint, merged into a report at the end; not thread-safe
+final class LatencyRecorder {
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        void add(long value, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.nanos[i], false);
+            }
+            errors += other.errors;
+        }
+    }
+
+    private final Map<String, Samples> byEndpoint = new TreeMap<>();
+
+    void record(String endpoint, long nanos, boolean error) {
+        byEndpoint.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, error);
+    }
+
+    void merge(LatencyRecorder other) {
+        other.byEndpoint.forEach((endpoint, samples) ->
+                byEndpoint.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+    }
+
+    long requests() {
+        return byEndpoint.values().stream().mapToLong(samples -> samples.count).sum();
+    }
+
+    long errors() {
+        return byEndpoint.values().stream().mapToLong(samples -> samples.errors).sum();
+    }
+
+    String report(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+                "%-34s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        byEndpoint.forEach((endpoint, samples) -> {
+            long[] sorted = Arrays.copyOf(samples.nanos, samples.count);
+            Arrays.sort(sorted);
+            report.append(String.format(Locale.ROOT, "%-34s %10d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                    endpoint, samples.count, samples.errors, samples.count / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        });
+        report.append(String.format(Locale.ROOT, "%-34s %10d %8d %10.1f%n",
+                "total", requests(), errors(), requests() / seconds));
+        return report.toString();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
\ No newline at end of file
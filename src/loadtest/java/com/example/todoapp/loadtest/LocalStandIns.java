@@ -0,0 +1,99 @@
+package com.example.todoapp.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process PostgreSQL, Redis and weather API for the load test. Kafka comes from
+ * {@code @EmbeddedKafka}; nothing here needs Docker or network access once the Maven
+ * dependencies (which carry the database and Redis binaries) are in the local repository.
+ */
+final class LocalStandIns {
+
+    private static final byte[] WEATHER_BODY =
+            "{\"current\":{\"temp_c\":18.0,\"feelslike_c\":17.0,\"humidity\":60}}".getBytes(StandardCharsets.UTF_8);
+    private static final long WEATHER_LATENCY_MS = 30;
+
+    private static EmbeddedPostgres postgres;
+    private static RedisServer redis;
+    private static int redisPort;
+    private static HttpServer weather;
+
+    private LocalStandIns() {
+    }
+
+    static synchronized void start() {
+        if (postgres != null) {
+            return;
+        }
+        try {
+            postgres = EmbeddedPostgres.start();
+            redisPort = freePort();
+            redis = new RedisServer(redisPort);
+            redis.start();
+            weather = startWeatherStub();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the local stand-ins", e);
+        }
+    }
+
+    static synchronized void stop() throws IOException {
+        if (weather != null) {
+            weather.stop(0);
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+        postgres = null;
+    }
+
+    static String jdbcUrl() {
+        return postgres.getJdbcUrl("postgres", "postgres");
+    }
+
+    static int redisPort() {
+        return redisPort;
+    }
+
+    static String weatherUrl() {
+        return "http://localhost:" + weather.getAddress().getPort();
+    }
+
+    private static HttpServer startWeatherStub() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/current.json", exchange -> {
+            try {
+                Thread.sleep(WEATHER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, WEATHER_BODY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(WEATHER_BODY);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
\ No newline at end of file
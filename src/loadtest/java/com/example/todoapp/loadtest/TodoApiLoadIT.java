@@ -0,0 +1,214 @@
+package com.example.todoapp.loadtest;
+
+import com.example.todoapp.TodoappApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the whole application against local stand-ins and drives a read-heavy mix of todo and
+ * weather traffic from {@code loadtest.users} concurrent users, each with its own signed JWT.
+ * After a warm-up, latency percentiles and throughput per endpoint are printed and written to
+ * {@code target/loadtest-report.txt}.
+ */
+@SpringBootTest(classes = TodoappApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EmbeddedKafka(kraft = true, partitions = 1, topics = {"email-send", "email-send.DLT"},
+        bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class TodoApiLoadIT {
+
+    private static final int SEED_TODOS_PER_USER = 20;
+    private static final String[] CITIES = {"Istanbul", "Ankara", "Izmir", "Bursa", "Antalya"};
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) {
+        LocalStandIns.start();
+        registry.add("spring.datasource.url", LocalStandIns::jdbcUrl);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.data.redis.host", () -> "localhost");
+        registry.add("spring.data.redis.port", LocalStandIns::redisPort);
+        registry.add("weather.api.base-url", LocalStandIns::weatherUrl);
+    }
+
+    @AfterAll
+    static void stopStandIns() throws IOException {
+        LocalStandIns.stop();
+    }
+
+    @Test
+    void mixedTraffic_shouldReportLatencyPerEndpoint() throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        Duration warmUp = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration measured = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+
+        Instant measureFrom = Instant.now().plus(warmUp);
+        Instant measureUntil = measureFrom.plus(measured);
+
+        List<Future<LatencyRecorder>> workers = new ArrayList<>(users);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                String email = "load-" + user + "@turkcell.com.tr";
+                workers.add(executor.submit(() -> new VirtualUser(email).run(measureFrom, measureUntil)));
+            }
+        }
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (Future<LatencyRecorder> worker : workers) {
+            total.merge(worker.get());
+        }
+
+        String report = "Load test: " + users + " users, " + measured.toSeconds() + " s measured after "
+                + warmUp.toSeconds() + " s warm-up\n" + total.report(measured);
+        System.out.println(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "loadtest-report.txt"), report);
+
+        assertThat(total.requests()).isPositive();
+        assertThat(total.errors()).isLessThanOrEqualTo(total.requests() / 100);
+    }
+
+    // one user: seeds its own todos, then loops over the traffic mix until the measurement window closes
+    private final class VirtualUser {
+
+        private final String authorization;
+        private final List<Long> todoIds = new ArrayList<>();
+        private final LatencyRecorder warmUpRecorder = new LatencyRecorder();
+        private final LatencyRecorder recorder = new LatencyRecorder();
+
+        VirtualUser(String email) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+            this.authorization = "Bearer " + Jwts.builder()
+                    .subject(email)
+                    .issuedAt(new Date())
+                    .expiration(Date.from(Instant.now().plus(Duration.ofHours(2))))
+                    .signWith(key)
+                    .compact();
+        }
+
+        LatencyRecorder run(Instant measureFrom, Instant measureUntil) throws Exception {
+            for (int i = 0; i < SEED_TODOS_PER_USER; i++) {
+                create(warmUpRecorder);
+            }
+
+            while (true) {
+                Instant now = Instant.now();
+                if (!now.isBefore(measureUntil)) {
+                    return recorder;
+                }
+                step(now.isBefore(measureFrom) ? warmUpRecorder : recorder);
+            }
+        }
+
+        // 40% list, 25% single get, 10% create, 10% update, 5% completion, 5% delete, 5% weather
+        private void step(LatencyRecorder target) throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int roll = random.nextInt(100);
+            if (todoIds.isEmpty() || roll < 10) {
+                create(target);
+            } else if (roll < 50) {
+                send(target, "GET /api/todos", get("/api/todos?page=" + random.nextInt(2) + "&size=10&sort=createdAt,desc"));
+            } else if (roll < 75) {
+                send(target, "GET /api/todos/{id}", get("/api/todos/" + anyTodo()));
+            } else if (roll < 85) {
+                send(target, "PUT /api/todos/{id}", request("/api/todos/" + anyTodo())
+                        .PUT(json("{\"title\":\"updated " + random.nextInt(1000) + "\",\"priority\":\"HIGH\"}")).build());
+            } else if (roll < 90) {
+                send(target, "PATCH /api/todos/{id}/completion", request("/api/todos/" + anyTodo()
+                        + "/completion?isCompleted=" + random.nextBoolean())
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody()).build());
+            } else if (roll < 95) {
+                Long id = todoIds.remove(random.nextInt(todoIds.size()));
+                send(target, "DELETE /api/todos/{id}", request("/api/todos/" + id).DELETE().build());
+            } else {
+                send(target, "GET /api/weather", get("/api/weather?city=" + CITIES[random.nextInt(CITIES.length)]));
+            }
+        }
+
+        private void create(LatencyRecorder target) throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long deadline = Instant.now().plus(Duration.ofDays(1 + random.nextInt(30))).toEpochMilli();
+            HttpResponse<String> response = send(target, "POST /api/todos", request("/api/todos")
+                    .POST(json("{\"title\":\"load todo " + random.nextInt(100_000) + "\",\"description\":\"load test\","
+                            + "\"deadline\":" + deadline + ",\"priority\":\"MEDIUM\",\"tags\":[\"load\",\"tag-"
+                            + random.nextInt(10) + "\"]}"))
+                    .build());
+            if (response.statusCode() == 201) {
+                JsonNode created = objectMapper.readTree(response.body());
+                todoIds.add(created.get("id").asLong());
+            }
+        }
+
+        private HttpResponse<String> send(LatencyRecorder target, String endpoint, HttpRequest request) throws Exception {
+            long start = System.nanoTime();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            target.record(endpoint, System.nanoTime() - start, response.statusCode() >= 400);
+            return response;
+        }
+
+        private long anyTodo() {
+            return todoIds.get(ThreadLocalRandom.current().nextInt(todoIds.size()));
+        }
+
+        private HttpRequest get(String path) {
+            return request(path).GET().build();
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json");
+        }
+
+        private HttpRequest.BodyPublisher json(String body) {
+            return HttpRequest.BodyPublishers.ofString(body);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.example.todoapp.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every {@code @TrackExecutionTime} call in the {@code todo.method.execution} timer,
+ * tagged by class, method and outcome, with a percentile histogram and the
+ * {@code todo.timing.slo-ms} buckets for Prometheus. Timers are built once per method.
+ * Calls slower than {@code todo.timing.slow-call-threshold-ms} are logged; 0 turns that off.
+ */
+@Aspect
+@Component
+@Slf4j
+public class ExecutionTimeAspect {
+
+    private static final String METRIC_NAME = "todo.method.execution";
+
+    private record MethodTimers(Timer success, Timer error) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Duration[] serviceLevelObjectives;
+    private final long slowCallThresholdNanos;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ExecutionTimeAspect(MeterRegistry meterRegistry,
+                               @Value("${todo.timing.slo-ms:50,100,250,500,1000}") List<Long> sloMillis,
+                               @Value("${todo.timing.slow-call-threshold-ms:0}") long slowCallThresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.serviceLevelObjectives = sloMillis.stream().map(Duration::ofMillis).toArray(Duration[]::new);
+        this.slowCallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMs);
+    }
+
+    @Pointcut("@annotation(com.example.todoapp.annotation.TrackExecutionTime)")
+    public void methodAnnotatedWithTrackExecutionTime() {}
+
+    @Pointcut("@within(com.example.todoapp.annotation.TrackExecutionTime)")
+    public void classAnnotatedWithTrackExecutionTime() {}
+
+    @Around("methodAnnotatedWithTrackExecutionTime() || classAnnotatedWithTrackExecutionTime()")
+    public Object recordExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            long duration = System.nanoTime() - start;
+            MethodTimers methodTimers = timers.computeIfAbsent(
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), this::register);
+            (success ? methodTimers.success() : methodTimers.error()).record(duration, TimeUnit.NANOSECONDS);
+
+            if (slowCallThresholdNanos > 0 && duration >= slowCallThresholdNanos) {
+                log.warn("Yavaş API çağrısı: '{}' - Süre: {} ms",
+                        joinPoint.getSignature().toShortString(), TimeUnit.NANOSECONDS.toMillis(duration));
+            }
+        }
+    }
+
+    private MethodTimers register(Method method) {
+        return new MethodTimers(timer(method, "success"), timer(method, "error"));
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Execution time of @TrackExecutionTime methods")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+}
\ No newline at end of file
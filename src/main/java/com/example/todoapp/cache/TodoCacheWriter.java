@@ -0,0 +1,125 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk counterpart of the {@code @CachePut}/{@code @CacheEvict} annotations on the "todos" cache:
+ * writes the same keys and serialized values as RedisCache, but in one pipelined round trip
+ * after the surrounding transaction commits. Near-cache copies are invalidated on every node.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TodoCacheWriter {
+
+    public static final String TODOS_CACHE = "todos";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheConfiguration cacheConfiguration;
+    private final CacheManager cacheManager;
+
+    /**
+     * Key of a todo in the "todos" cache; must match the {@code key} expressions on TodoServiceImpl.
+     */
+    public static String todoKey(String userEmail, Long id) {
+        return userEmail + ":" + id;
+    }
+
+    public void putAll(String userEmail, Collection<TodoResponse> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = todos.stream()
+                .map(todo -> todoKey(userEmail, todo.id()))
+                .toList();
+
+        afterCommit(() -> {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                int i = 0;
+                for (TodoResponse todo : todos) {
+                    String key = keys.get(i++);
+                    byte[] value = ByteUtils.getBytes(cacheConfiguration.getValueSerializationPair().write(todo));
+                    Duration ttl = cacheConfiguration.getTtlFunction().getTimeToLive(key, todo);
+                    Expiration expiration = ttl.isZero() || ttl.isNegative()
+                            ? Expiration.persistent()
+                            : Expiration.from(ttl);
+
+                    connection.stringCommands().set(redisKey(key), value, expiration,
+                            RedisStringCommands.SetOption.upsert());
+                }
+                return null;
+            });
+            invalidateNearCaches(keys);
+        });
+    }
+
+    public void evictAll(String userEmail, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<String> keys = ids.stream()
+                .map(id -> todoKey(userEmail, id))
+                .toList();
+        byte[][] redisKeys = keys.stream()
+                .map(this::redisKey)
+                .toArray(byte[][]::new);
+
+        afterCommit(() -> {
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(redisKeys));
+            invalidateNearCaches(keys);
+        });
+    }
+
+    private byte[] redisKey(String key) {
+        String redisKey = cacheConfiguration.getKeyPrefixFor(TODOS_CACHE) + key;
+        return ByteUtils.getBytes(cacheConfiguration.getKeySerializationPair().write(redisKey));
+    }
+
+    private void invalidateNearCaches(List<String> keys) {
+        Cache cache = cacheManager.getCache(TODOS_CACHE);
+        if (cache instanceof TwoTierCache twoTierCache) {
+            twoTierCache.invalidateNearCaches(keys);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable guardedAction = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                log.error("Bulk update of '{}' cache failed", TODOS_CACHE, e);
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            guardedAction.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guardedAction.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoFilter;
+import com.example.todoapp.repository.TodoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Per-user todo counters kept in a Redis hash (total, completed, one field per priority and one
+ * per tag), used to answer estimated totals without a COUNT query. A missing hash is seeded with
+ * GROUP BY queries; writes only adjust hashes that already exist, and the TTL bounds any drift.
+ * Overdue depends on the clock rather than on writes, so no counter can follow it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TodoCountCache {
+
+    private static final String KEY_PREFIX = "todo:counts:";
+    private static final String TOTAL = "total";
+    private static final String COMPLETED = "completed";
+    private static final String TAG_PREFIX = "tag:";
+
+    private static final RedisScript<Long> INCREMENT_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+                    "for i = 1, #ARGV, 2 do redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+                    "return 1",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final TodoRepository todoRepository;
+
+    @Value("${todo.count-cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    /**
+     * Upper bound for the number of todos matching {@code filter}, or empty when the filter has a
+     * dimension the counters do not track (overdue) or Redis is unavailable, and the caller has to count instead.
+     */
+    public OptionalLong estimate(TodoFilter filter) {
+        if (filter.overdue() != null) {
+            return OptionalLong.empty();
+        }
+
+        Map<String, Long> counts;
+        try {
+            counts = counts(filter.userEmail());
+        } catch (RuntimeException e) {
+            log.warn("Todo counters unavailable for user {}", filter.userEmail(), e);
+            return OptionalLong.empty();
+        }
+        long total = counts.getOrDefault(TOTAL, 0L);
+
+        Boolean completed = filter.completed();
+        Priority priority = filter.priority();
+        long matchingCompleted = completed == null
+                ? total
+                : completed ? counts.getOrDefault(COMPLETED, 0L) : total - counts.getOrDefault(COMPLETED, 0L);
+        long matchingPriority = priority == null
+                ? total
+                : counts.getOrDefault(priority.name(), 0L);
+        long matchingTag = filter.hasTag()
+                ? counts.getOrDefault(TAG_PREFIX + filter.tag(), 0L)
+                : total;
+
+        // the dimensions are counted independently, so the smallest one is an upper bound
+        return OptionalLong.of(Math.max(0, Math.min(matchingCompleted, Math.min(matchingPriority, matchingTag))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Map<String, Long> deltas = new HashMap<>();
+        for (TodoChangedEvent.Change change : event.changes()) {
+            apply(deltas, change.before(), -1);
+            apply(deltas, change.after(), 1);
+        }
+
+        List<String> args = new ArrayList<>();
+        deltas.forEach((field, delta) -> {
+            if (delta != 0) {
+                args.add(field);
+                args.add(Long.toString(delta));
+            }
+        });
+        if (args.isEmpty()) {
+            return;
+        }
+
+        try {
+            redisTemplate.execute(INCREMENT_IF_PRESENT, List.of(key(event.userEmail())), args.toArray());
+        } catch (RuntimeException e) {
+            log.warn("Could not update todo counters for user {}", event.userEmail(), e);
+        }
+    }
+
+    private Map<String, Long> counts(String userEmail) {
+        String key = key(userEmail);
+        Map<Object, Object> cached = redisTemplate.opsForHash().entries(key);
+
+        Map<String, Long> counts = new HashMap<>();
+        if (!cached.isEmpty()) {
+            cached.forEach((field, value) -> counts.put((String) field, Long.parseLong((String) value)));
+            return counts;
+        }
+
+        // a write racing with this seed can be lost; the TTL re-seeds the hash eventually
+        for (TodoRepository.StatusCount row : todoRepository.countByStatus(userEmail)) {
+            counts.merge(TOTAL, row.getTotal(), Long::sum);
+            counts.merge(row.getPriority().name(), row.getTotal(), Long::sum);
+            if (row.getCompleted()) {
+                counts.merge(COMPLETED, row.getTotal(), Long::sum);
+            }
+        }
+        for (TodoRepository.TagCount row : todoRepository.countByTag(userEmail)) {
+            counts.put(TAG_PREFIX + row.getTag(), row.getTotal());
+        }
+        counts.putIfAbsent(TOTAL, 0L);
+        counts.putIfAbsent(COMPLETED, 0L);
+
+        Map<String, String> hash = new HashMap<>();
+        counts.forEach((field, value) -> hash.put(field, Long.toString(value)));
+        redisTemplate.opsForHash().putAll(key, hash);
+        redisTemplate.expire(key, Duration.ofMinutes(ttlMinutes));
+
+        return counts;
+    }
+
+    private void apply(Map<String, Long> deltas, TodoResponse todo, long sign) {
+        if (todo == null) {
+            return;
+        }
+        deltas.merge(TOTAL, sign, Long::sum);
+        if (todo.completed()) {
+            deltas.merge(COMPLETED, sign, Long::sum);
+        }
+        if (todo.priority() != null) {
+            deltas.merge(todo.priority().name(), sign, Long::sum);
+        }
+        if (todo.tags() != null) {
+            todo.tags().stream().distinct().forEach(tag -> deltas.merge(TAG_PREFIX + tag, sign, Long::sum));
+        }
+    }
+
+    private String key(String userEmail) {
+        return KEY_PREFIX + userEmail;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Caches list pages per user, filter set and page. Every key embeds the user's current list
+ * version, a Redis counter that each write bumps, so one INCR makes all older pages unreachable;
+ * they are never looked up again and simply expire.
+ * <p>
+ * Pages filtered by {@code overdue} depend on the clock: their keys also carry a time bucket and
+ * they live in a separate cache whose TTL is the bucket length.
+ */
+@Component
+@Slf4j
+public class TodoListCache {
+
+    public static final String TODO_LISTS_CACHE = "todoLists";
+    public static final String OVERDUE_TODO_LISTS_CACHE = "overdueTodoLists";
+
+    private static final String VERSION_KEY_PREFIX = "todo:list-version:";
+
+    // a missing version is seeded with the current time, never 0/1, so a version key that expired
+    // or was evicted can not come back with a value that old pages were cached under
+    private static final RedisScript<Long> CURRENT_VERSION = new DefaultRedisScript<>(
+            "local v = redis.call('GET', KEYS[1]) " +
+                    "if not v then v = ARGV[1] redis.call('SET', KEYS[1], v, 'EX', ARGV[2]) end " +
+                    "return tonumber(v)",
+            Long.class
+    );
+
+    private static final RedisScript<Long> BUMP_VERSION = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('INCR', KEYS[1]) " +
+                    "else redis.call('SET', KEYS[1], ARGV[1]) end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+                    "return 1",
+            Long.class
+    );
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheManager cacheManager;
+    private final long overdueBucketMillis;
+
+    @Value("${todo.list-cache.version-ttl-hours:24}")
+    private long versionTtlHours;
+
+    public TodoListCache(StringRedisTemplate redisTemplate, CacheManager cacheManager,
+                         @Value("${todo.list-cache.overdue-ttl-seconds:30}") long overdueTtlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.cacheManager = cacheManager;
+        this.overdueBucketMillis = Duration.ofSeconds(overdueTtlSeconds).toMillis();
+    }
+
+    public record CachedPage(List<TodoResponse> content, long total) {
+    }
+
+    public Page<TodoResponse> getPage(TodoFilter filter, Pageable pageable, Supplier<Page<TodoResponse>> loader) {
+        Cache cache = cacheManager.getCache(filter.overdue() != null ? OVERDUE_TODO_LISTS_CACHE : TODO_LISTS_CACHE);
+        String key;
+        CachedPage cached;
+        try {
+            key = key(filter, pageable, currentVersion(filter.userEmail()));
+            cached = cache.get(key, CachedPage.class);
+        } catch (RuntimeException e) {
+            log.warn("Todo list cache unavailable for user {}", filter.userEmail(), e);
+            return loader.get();
+        }
+
+        if (cached != null) {
+            return new PageImpl<>(cached.content(), pageable, cached.total());
+        }
+
+        Page<TodoResponse> page = loader.get();
+        try {
+            cache.put(key, new CachedPage(new ArrayList<>(page.getContent()), page.getTotalElements()));
+        } catch (RuntimeException e) {
+            log.warn("Could not cache todo list page for user {}", filter.userEmail(), e);
+        }
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        try {
+            redisTemplate.execute(BUMP_VERSION, List.of(versionKey(event.userEmail())),
+                    Long.toString(System.currentTimeMillis()), Long.toString(versionTtlSeconds()));
+        } catch (RuntimeException e) {
+            log.warn("Could not bump todo list version for user {}", event.userEmail(), e);
+        }
+    }
+
+    private long currentVersion(String userEmail) {
+        return redisTemplate.execute(CURRENT_VERSION, List.of(versionKey(userEmail)),
+                Long.toString(System.currentTimeMillis()), Long.toString(versionTtlSeconds()));
+    }
+
+    // the tag is free text, so it goes last and cannot shift the fixed-format fields before it
+    private String key(TodoFilter filter, Pageable pageable, long version) {
+        StringBuilder key = new StringBuilder(filter.userEmail())
+                .append(":v").append(version)
+                .append(":c=").append(filter.completed())
+                .append(":p=").append(filter.priority())
+                .append(":o=").append(filter.overdue());
+        if (filter.overdue() != null) {
+            key.append('@').append(filter.now() / overdueBucketMillis);
+        }
+        return key.append(":off=").append(pageable.getOffset())
+                .append(":size=").append(pageable.getPageSize())
+                .append(":by=").append(pageable.getSort())
+                .append(":t=").append(filter.tag())
+                .toString();
+    }
+
+    private long versionTtlSeconds() {
+        return Duration.ofHours(versionTtlHours).toSeconds();
+    }
+
+    private String versionKey(String userEmail) {
+        return VERSION_KEY_PREFIX + userEmail;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.enums.TagMatch;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoIndexRow;
+import com.example.todoapp.repository.TodoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index per user: tag -> compressed bitmap of todo ids, plus bitmaps for
+ * completion state and priority and the deadline of every todo. Tag AND/OR queries and the
+ * completed/priority/overdue filters are resolved here, so the database only sees the final ids.
+ * <p>
+ * An index is built lazily from todos/todo_tags on a miss and kept current by write events.
+ * Writes on other instances arrive as invalidations on the near-cache channel
+ * ({@link TwoTierCacheManager#INVALIDATION_CHANNEL}, cache name {@value #INDEX_NAME}, user emails
+ * as keys) and drop the user's index here; the TTL only bounds the damage of a lost message.
+ */
+@Component
+@Slf4j
+public class TodoTagIndex implements MessageListener {
+
+    public static final String INDEX_NAME = "todoTagIndex";
+
+    private final TodoRepository todoRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<String, UserIndex> indexes;
+    private final Cache<String, Long> lastWriteNanos;
+
+    public TodoTagIndex(TodoRepository todoRepository,
+                        StringRedisTemplate redisTemplate,
+                        @Value("${todo.tag-index.max-users:10000}") long maxUsers,
+                        @Value("${todo.tag-index.ttl-minutes:10}") long ttlMinutes) {
+        this.todoRepository = todoRepository;
+        this.redisTemplate = redisTemplate;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        this.lastWriteNanos = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+    }
+
+    public Roaring64NavigableMap match(String userEmail, List<String> tags, TagMatch match,
+                                       Boolean completed, Priority priority, Boolean overdue, long now) {
+        return indexFor(userEmail).match(tags, match, completed, priority, overdue, now);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        lastWriteNanos.put(event.userEmail(), System.nanoTime());
+        publishInvalidation(event.userEmail());
+
+        UserIndex index = indexes.getIfPresent(event.userEmail());
+        if (index == null) {
+            return;
+        }
+        for (TodoChangedEvent.Change change : event.changes()) {
+            if (change.before() != null) {
+                index.remove(change.before().id());
+            }
+            if (change.after() != null) {
+                index.add(change.after());
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<String> lines = Arrays.asList(new String(message.getBody(), StandardCharsets.UTF_8).split("\n"));
+        if (lines.size() < 3 || !INDEX_NAME.equals(lines.get(1)) || Objects.equals(lines.get(0), nodeId)) {
+            return;
+        }
+
+        // counts as a write here too, so a rebuild already reading the old rows is not cached
+        for (String userEmail : lines.subList(2, lines.size())) {
+            lastWriteNanos.put(userEmail, System.nanoTime());
+            indexes.invalidate(userEmail);
+        }
+    }
+
+    private void publishInvalidation(String userEmail) {
+        try {
+            redisTemplate.convertAndSend(TwoTierCacheManager.INVALIDATION_CHANNEL,
+                    nodeId + '\n' + INDEX_NAME + '\n' + userEmail);
+        } catch (RuntimeException e) {
+            // other nodes fall back to the index TTL
+            log.warn("Could not publish tag index invalidation for user {}", userEmail, e);
+        }
+    }
+
+    // loaded outside the cache's compute lock, so a slow rebuild never blocks other users
+    private UserIndex indexFor(String userEmail) {
+        UserIndex index = indexes.getIfPresent(userEmail);
+        if (index != null) {
+            return index;
+        }
+
+        long startedAt = System.nanoTime();
+        UserIndex loaded = new UserIndex();
+        for (TodoIndexRow row : todoRepository.findIndexRows(userEmail)) {
+            loaded.add(row.id(), row.completed(), row.priority(), row.deadline(), row.tags());
+        }
+
+        // a write that committed while we were reading may be missing from this snapshot
+        Long lastWrite = lastWriteNanos.getIfPresent(userEmail);
+        if (lastWrite == null || lastWrite < startedAt) {
+            UserIndex existing = indexes.asMap().putIfAbsent(userEmail, loaded);
+            return existing != null ? existing : loaded;
+        }
+        log.debug("Tag index for {} changed during rebuild, serving it uncached", userEmail);
+        return loaded;
+    }
+
+    private static final class UserIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Roaring64NavigableMap all = new Roaring64NavigableMap();
+        private final Roaring64NavigableMap completed = new Roaring64NavigableMap();
+        private final Map<Priority, Roaring64NavigableMap> byPriority = new EnumMap<>(Priority.class);
+        private final Map<String, Roaring64NavigableMap> byTag = new HashMap<>();
+        private final Map<Long, Long> deadlines = new HashMap<>();
+
+        void add(TodoResponse todo) {
+            add(todo.id(), todo.completed(), todo.priority(), todo.deadline(), todo.tags());
+        }
+
+        void add(long id, boolean isCompleted, Priority priority, Long deadline, List<String> tags) {
+            lock.writeLock().lock();
+            try {
+                all.addLong(id);
+                if (isCompleted) {
+                    completed.addLong(id);
+                }
+                if (priority != null) {
+                    byPriority.computeIfAbsent(priority, p -> new Roaring64NavigableMap()).addLong(id);
+                }
+                if (deadline != null) {
+                    deadlines.put(id, deadline);
+                }
+                if (tags != null) {
+                    for (String tag : tags) {
+                        byTag.computeIfAbsent(tag, t -> new Roaring64NavigableMap()).addLong(id);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(long id) {
+            lock.writeLock().lock();
+            try {
+                all.removeLong(id);
+                completed.removeLong(id);
+                byPriority.values().forEach(bitmap -> bitmap.removeLong(id));
+                deadlines.remove(id);
+                byTag.values().removeIf(bitmap -> {
+                    bitmap.removeLong(id);
+                    return bitmap.isEmpty();
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Roaring64NavigableMap match(List<String> tags, TagMatch match, Boolean isCompleted,
+                                    Priority priority, Boolean overdue, long now) {
+            lock.readLock().lock();
+            try {
+                Roaring64NavigableMap result = matchTags(tags, match);
+
+                if (isCompleted != null) {
+                    if (isCompleted) {
+                        result.and(completed);
+                    } else {
+                        result.andNot(completed);
+                    }
+                }
+                if (priority != null) {
+                    result.and(byPriority.getOrDefault(priority, new Roaring64NavigableMap()));
+                }
+                if (overdue != null) {
+                    result = filterOverdue(result, overdue, now);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Roaring64NavigableMap matchTags(List<String> tags, TagMatch match) {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            if (tags == null || tags.isEmpty()) {
+                result.or(all);
+                return result;
+            }
+
+            if (match == TagMatch.ANY) {
+                for (String tag : tags) {
+                    Roaring64NavigableMap bitmap = byTag.get(tag);
+                    if (bitmap != null) {
+                        result.or(bitmap);
+                    }
+                }
+                return result;
+            }
+
+            result.or(all);
+            for (String tag : tags) {
+                Roaring64NavigableMap bitmap = byTag.get(tag);
+                if (bitmap == null) {
+                    return new Roaring64NavigableMap();
+                }
+                result.and(bitmap);
+            }
+            return result;
+        }
+
+        private Roaring64NavigableMap filterOverdue(Roaring64NavigableMap candidates, boolean overdue, long now) {
+            Roaring64NavigableMap result = new Roaring64NavigableMap();
+            LongIterator ids = candidates.getLongIterator();
+            while (ids.hasNext()) {
+                long id = ids.next();
+                Long deadline = deadlines.get(id);
+                boolean isOverdue = deadline != null && deadline < now;
+                if (isOverdue == overdue) {
+                    result.addLong(id);
+                }
+            }
+            return result;
+        }
+    }
+}
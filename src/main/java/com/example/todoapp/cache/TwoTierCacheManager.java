@@ -0,0 +1,117 @@
+package com.example.todoapp.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of the Redis cache manager in a {@link TwoTierCache} and relays near-cache
+ * invalidations between instances over a Redis pub/sub channel.
+ * <p>
+ * Message format, one item per line: origin node id, cache name, then the evicted keys
+ * (no keys means the whole cache was cleared). Messages from this node are ignored.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener, InitializingBean {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private final CacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager redisCacheManager, StringRedisTemplate redisTemplate,
+                               MeterRegistry meterRegistry, long localMaxSize, Duration localTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    // the Redis cache manager is not a bean of its own: without this its per-cache configurations
+    // are never loaded and every cache is created on demand with the defaults
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (redisCacheManager instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(name, cacheName -> new TwoTierCache(cacheName,
+                Caffeine.newBuilder()
+                        .maximumSize(localMaxSize)
+                        .expireAfterWrite(localTtl)
+                        .build(),
+                remote, this, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    void publishInvalidation(String cacheName, Collection<?> keys) {
+        StringBuilder message = new StringBuilder(nodeId).append('\n').append(cacheName);
+        keys.forEach(key -> message.append('\n').append(key));
+
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message.toString());
+        } catch (RuntimeException e) {
+            // other nodes fall back to the near-cache TTL
+            log.warn("Could not publish invalidation for cache '{}'", cacheName, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<String> lines = Arrays.asList(new String(message.getBody(), StandardCharsets.UTF_8).split("\n"));
+        if (lines.size() < 2 || Objects.equals(lines.get(0), nodeId)) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(lines.get(1));
+        if (cache == null) {
+            return;
+        }
+
+        if (lines.size() == 2) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(lines.subList(2, lines.size()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.todoapp.client;
+
+import com.example.todoapp.weather.dto.WeatherResponse;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * WeatherApiClient behind a bulkhead and a circuit breaker. The bulkhead caps concurrent upstream
+ * calls and rejects the excess at once, so a slow upstream ties up at most
+ * {@code weather.bulkhead.max-concurrent-calls} request threads. The breaker opens when too many
+ * calls fail or exceed the slow-call threshold, and while it is open calls fail without reaching
+ * the upstream. 4xx responses, such as an unknown city, do not count as failures, except 408 and 429:
+ * those mean the upstream is too slow or is shedding load.
+ */
+@Component
+@Slf4j
+public class ResilientWeatherClient {
+
+    public static final String NAME = "weather-api";
+
+    private final WeatherApiClient weatherApiClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ResilientWeatherClient(WeatherApiClient weatherApiClient, MeterRegistry meterRegistry,
+                                  @Value("${weather.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                  @Value("${weather.circuit-breaker.slow-call-threshold-ms:1500}") long slowCallThresholdMs,
+                                  @Value("${weather.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                                  @Value("${weather.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+                                  @Value("${weather.circuit-breaker.open-seconds:30}") long openSeconds,
+                                  @Value("${weather.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls) {
+        this.weatherApiClient = weatherApiClient;
+
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .ignoreException(ResilientWeatherClient::isCallerError)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.circuitBreaker = circuitBreakers.circuitBreaker(NAME);
+        this.bulkhead = bulkheads.bulkhead(NAME);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Weather API circuit breaker {}", event.getStateTransition()));
+    }
+
+    /**
+     * Throws {@link io.github.resilience4j.bulkhead.BulkheadFullException} or
+     * {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException} instead of calling
+     * the upstream when it is saturated or considered down.
+     */
+    public WeatherResponse getCurrentWeather(String apiKey, String city) {
+        Supplier<WeatherResponse> call = () -> weatherApiClient.getCurrentWeather(apiKey, city);
+        // the bulkhead sits outside the breaker, so its rejections are not counted as upstream failures
+        return bulkhead.executeSupplier(CircuitBreaker.decorateSupplier(circuitBreaker, call));
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    private static boolean isCallerError(Throwable failure) {
+        return failure instanceof FeignException.FeignClientException clientError
+                && clientError.status() != HttpStatus.REQUEST_TIMEOUT.value()
+                && clientError.status() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
\ No newline at end of file
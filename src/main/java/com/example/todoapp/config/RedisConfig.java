@@ -1,9 +1,20 @@
 package com.example.todoapp.config;
 
+import com.example.todoapp.cache.TodoListCache;
+import com.example.todoapp.cache.TodoTagIndex;
+import com.example.todoapp.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
@@ -20,4 +31,37 @@ public class RedisConfig {
                 .disableCachingNullValues()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
     }
+
+    @Bean
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            RedisCacheConfiguration cacheConfiguration,
+                                            StringRedisTemplate redisTemplate,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${todo.cache.local.max-size:10000}") long localMaxSize,
+                                            @Value("${todo.cache.local.ttl-seconds:60}") long localTtlSeconds,
+                                            @Value("${todo.list-cache.ttl-minutes:10}") long listTtlMinutes,
+                                            @Value("${todo.list-cache.overdue-ttl-seconds:30}") long overdueListTtlSeconds) {
+        CacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(cacheConfiguration)
+                .withCacheConfiguration(TodoListCache.TODO_LISTS_CACHE,
+                        cacheConfiguration.entryTtl(Duration.ofMinutes(listTtlMinutes)))
+                .withCacheConfiguration(TodoListCache.OVERDUE_TODO_LISTS_CACHE,
+                        cacheConfiguration.entryTtl(Duration.ofSeconds(overdueListTtlSeconds)))
+                .build();
+
+        return new TwoTierCacheManager(redisCacheManager, redisTemplate, meterRegistry,
+                localMaxSize, Duration.ofSeconds(localTtlSeconds));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoTierCacheManager cacheManager,
+                                                                            TodoTagIndex todoTagIndex) {
+        ChannelTopic invalidations = new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, invalidations);
+        container.addMessageListener(todoTagIndex, invalidations);
+        return container;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.todoapp.config;
+
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WeatherClientConfig {
+
+    // HttpClient 5 retries 429/503 on its own by default, which the circuit breaker would never see
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer disableAutomaticRetries() {
+        return builder -> builder.disableAutomaticRetries();
+    }
+}
\ No newline at end of file
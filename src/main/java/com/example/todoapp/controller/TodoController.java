@@ -1,18 +1,36 @@
 package com.example.todoapp.controller;
 
 import com.example.todoapp.annotation.TrackExecutionTime;
+import com.example.todoapp.dto.TodoBatchResult;
+import com.example.todoapp.dto.TodoBatchUpdateRequest;
 import com.example.todoapp.dto.TodoCreateRequest;
+import com.example.todoapp.dto.TodoImportResult;
+import com.example.todoapp.dto.TodoListQuery;
 import com.example.todoapp.dto.TodoResponse;
 import com.example.todoapp.dto.TodoUpdateRequest;
+import com.example.todoapp.enums.CountMode;
+import com.example.todoapp.enums.ExportFormat;
+import com.example.todoapp.enums.PagingMode;
 import com.example.todoapp.enums.Priority;
+import com.example.todoapp.enums.TagMatch;
+import com.example.todoapp.service.TodoExportService;
+import com.example.todoapp.service.TodoImportService;
 import com.example.todoapp.service.TodoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/todos")
@@ -21,6 +39,8 @@ import org.springframework.web.bind.annotation.*;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoExportService todoExportService;
+    private final TodoImportService todoImportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -30,16 +50,56 @@ public class TodoController {
         return todoService.createTodo(createRequest, authentication.getName());
     }
 
+    // paging=cursor pages by keyset: leave out `after` for the first page, then send the previous page's nextCursor
+    // count=estimate or count=none skip the exact COUNT(*) of offset paging; tags=a,b&match=any goes to the tag index
     @GetMapping
-    public Page<TodoResponse> getAllTodos(
+    public Object getAllTodos(
             @RequestParam(required = false) Boolean completed,
             @RequestParam(required = false) Priority priority,
             @RequestParam(required = false) String tag,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(required = false) String match,
             @RequestParam(required = false) Boolean overdue,
+            @RequestParam(required = false) String count,
+            @RequestParam(defaultValue = "offset") String paging,
+            @RequestParam(required = false) String after,
             Pageable pageable,
             Authentication authentication) {
-        return todoService.getAllTodos(completed, priority, tag, overdue,
-                authentication.getName(), pageable);
+        TodoListQuery query = new TodoListQuery(completed, priority, tag, tags,
+                match != null ? TagMatch.from(match) : null, overdue,
+                count != null ? CountMode.from(count) : null, PagingMode.from(paging), after);
+        return todoService.getTodos(query, authentication.getName(), pageable);
+    }
+
+    // streamed from a DB cursor as it is written, instead of paging through the list endpoint
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) Boolean overdue,
+            Authentication authentication) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        String userEmail = authentication.getName();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("todos." + exportFormat.extension())
+                        .build()
+                        .toString())
+                .body(out -> todoExportService.exportTodos(completed, priority, tag, overdue, userEmail,
+                        exportFormat, out));
+    }
+
+    // the body is parsed and inserted as it arrives, in chunks that commit on their own
+    @PostMapping("/import")
+    public TodoImportResult importTodos(
+            @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body,
+            Authentication authentication) throws IOException {
+        return todoImportService.importTodos(body, ExportFormat.from(format), authentication.getName());
     }
 
     @GetMapping("/{id}")
@@ -72,4 +132,25 @@ public class TodoController {
             Authentication authentication) {
         return todoService.updateTodoCompletion(id, isCompleted, authentication.getName());
     }
+
+    @PostMapping("/batch")
+    public List<TodoBatchResult> createTodos(
+            @RequestBody List<TodoCreateRequest> createRequests,
+            Authentication authentication) {
+        return todoService.createTodos(createRequests, authentication.getName());
+    }
+
+    @PutMapping("/batch")
+    public List<TodoBatchResult> updateTodos(
+            @RequestBody List<TodoBatchUpdateRequest> updateRequests,
+            Authentication authentication) {
+        return todoService.updateTodos(updateRequests, authentication.getName());
+    }
+
+    @DeleteMapping("/batch")
+    public List<TodoBatchResult> deleteTodos(
+            @RequestBody List<Long> ids,
+            Authentication authentication) {
+        return todoService.deleteTodos(ids, authentication.getName());
+    }
 }
\ No newline at end of file
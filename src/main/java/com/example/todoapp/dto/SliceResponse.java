@@ -0,0 +1,11 @@
+package com.example.todoapp.dto;
+
+import java.util.List;
+
+public record SliceResponse<T>(
+        List<T> content,
+        int page,
+        int size,
+        boolean hasNext
+) {
+}
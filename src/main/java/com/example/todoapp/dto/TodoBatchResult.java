@@ -0,0 +1,24 @@
+package com.example.todoapp.dto;
+
+import org.springframework.http.HttpStatus;
+
+public record TodoBatchResult(
+        int index,
+        Long id,
+        int status,
+        TodoResponse todo,
+        String error
+) {
+
+    public static TodoBatchResult success(int index, HttpStatus status, TodoResponse todo) {
+        return new TodoBatchResult(index, todo.id(), status.value(), todo, null);
+    }
+
+    public static TodoBatchResult success(int index, HttpStatus status, Long id) {
+        return new TodoBatchResult(index, id, status.value(), null, null);
+    }
+
+    public static TodoBatchResult failure(int index, Long id, HttpStatus status, String error) {
+        return new TodoBatchResult(index, id, status.value(), null, error);
+    }
+}
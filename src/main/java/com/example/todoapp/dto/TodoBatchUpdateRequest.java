@@ -0,0 +1,16 @@
+package com.example.todoapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record TodoBatchUpdateRequest(
+        @NotNull(message = "ID null olamaz")
+        @Min(value = 1, message = "ID 1'den küçük olamaz")
+        Long id,
+
+        @Valid
+        @NotNull(message = "Update request null olamaz")
+        TodoUpdateRequest changes
+) {
+}
@@ -21,6 +21,6 @@ public record TodoCreateRequest(
         Priority priority,
 
         @Size(max = 5, message = "En fazla 5 etiket eklenebilir.")
-        List<String> tags
+        List<@Size(max = 255, message = "Etiket en fazla 255 karakter olabilir.") String> tags
 ) {
 }
\ No newline at end of file
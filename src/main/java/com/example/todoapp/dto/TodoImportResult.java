@@ -0,0 +1,18 @@
+package com.example.todoapp.dto;
+
+import java.util.List;
+
+/**
+ * @param errors          the first {@code todo.import.max-errors} failures, by line number of the input
+ * @param errorsTruncated true when there were more failures than {@code errors} holds
+ */
+public record TodoImportResult(
+        long imported,
+        long failed,
+        List<LineError> errors,
+        boolean errorsTruncated
+) {
+
+    public record LineError(long line, String error) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.todoapp.dto;
+
+import com.example.todoapp.enums.CountMode;
+import com.example.todoapp.enums.PagingMode;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.enums.TagMatch;
+
+import java.util.List;
+
+/**
+ * The query parameters of {@code GET /api/todos}. {@code paging=cursor} pages by keyset: the first
+ * page is requested without {@code after}, every later one with the {@code nextCursor} of the page before.
+ * {@code count} only applies to offset paging; left out, the total is counted exactly.
+ * {@code tags} is answered from the tag index, which pages by offset and always knows the exact total.
+ * Parameters that do not belong to the chosen mode are rejected rather than ignored.
+ */
+public record TodoListQuery(
+        Boolean completed,
+        Priority priority,
+        String tag,
+        List<String> tags,
+        TagMatch match,
+        Boolean overdue,
+        CountMode count,
+        PagingMode paging,
+        String after
+) {
+
+    public TodoListQuery {
+        if (after != null && paging != PagingMode.CURSOR) {
+            throw new IllegalArgumentException("after parametresi yalnızca paging=cursor ile kullanılabilir.");
+        }
+        if (count != null && paging == PagingMode.CURSOR) {
+            throw new IllegalArgumentException("count parametresi paging=cursor ile kullanılamaz.");
+        }
+        if (tags != null) {
+            if (tag != null) {
+                throw new IllegalArgumentException("tag ve tags parametreleri birlikte kullanılamaz.");
+            }
+            if (paging == PagingMode.CURSOR) {
+                throw new IllegalArgumentException("tags parametresi paging=cursor ile kullanılamaz.");
+            }
+            if (count != null && count != CountMode.EXACT) {
+                throw new IllegalArgumentException("tags parametresi yalnızca count=exact ile kullanılabilir.");
+            }
+        } else if (match != null) {
+            throw new IllegalArgumentException("match parametresi yalnızca tags ile kullanılabilir.");
+        }
+    }
+
+    public boolean cursorPaging() {
+        return paging == PagingMode.CURSOR;
+    }
+
+    public boolean tagIndexLookup() {
+        return tags != null;
+    }
+
+    public CountMode countMode() {
+        return count != null ? count : CountMode.EXACT;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.todoapp.enums;
+
+import java.util.Locale;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATE,
+    NONE;
+
+    public static CountMode from(String value) {
+        try {
+            return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("count parametresi 'exact', 'estimate' veya 'none' olmalıdır.");
+        }
+    }
+}
\ No newline at end of file
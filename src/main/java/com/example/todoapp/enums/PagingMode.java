@@ -0,0 +1,16 @@
+package com.example.todoapp.enums;
+
+import java.util.Locale;
+
+public enum PagingMode {
+    OFFSET,
+    CURSOR;
+
+    public static PagingMode from(String value) {
+        try {
+            return PagingMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("paging parametresi 'offset' veya 'cursor' olmalıdır.");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.todoapp.enums;
+
+import java.util.Locale;
+
+public enum TagMatch {
+    ALL,
+    ANY;
+
+    public static TagMatch from(String value) {
+        try {
+            return TagMatch.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("match parametresi 'all' veya 'any' olmalıdır.");
+        }
+    }
+}
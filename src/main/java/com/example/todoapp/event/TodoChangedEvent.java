@@ -0,0 +1,31 @@
+package com.example.todoapp.event;
+
+import com.example.todoapp.dto.TodoResponse;
+
+import java.util.List;
+
+/**
+ * Published by TodoServiceImpl after every write so that derived state (counters, indexes,
+ * list caches) can follow along. {@code before} is null for creates, {@code after} for deletes.
+ */
+public record TodoChangedEvent(String userEmail, List<Change> changes) {
+
+    public record Change(TodoResponse before, TodoResponse after) {
+    }
+
+    public static TodoChangedEvent of(String userEmail, TodoResponse before, TodoResponse after) {
+        return new TodoChangedEvent(userEmail, List.of(new Change(before, after)));
+    }
+
+    public static TodoChangedEvent created(String userEmail, List<TodoResponse> todos) {
+        return new TodoChangedEvent(userEmail, todos.stream()
+                .map(todo -> new Change(null, todo))
+                .toList());
+    }
+
+    public static TodoChangedEvent deleted(String userEmail, List<TodoResponse> todos) {
+        return new TodoChangedEvent(userEmail, todos.stream()
+                .map(todo -> new Change(todo, null))
+                .toList());
+    }
+}
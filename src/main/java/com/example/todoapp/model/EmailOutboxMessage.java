@@ -0,0 +1,47 @@
+package com.example.todoapp.model;
+
+import com.example.todoapp.dto.EmailSendEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    // stable per logical email, sent as a Kafka header so consumers can drop redeliveries
+    @Column(nullable = false)
+    private String dedupeKey;
+
+    @Column(nullable = false)
+    private String toEmail;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(updatable = false, nullable = false)
+    private long createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    public static EmailOutboxMessage of(String dedupeKey, EmailSendEvent event, long createdAt) {
+        return new EmailOutboxMessage(null, dedupeKey, event.toEmail(), event.subject(), event.body(), createdAt, 0);
+    }
+
+    public EmailSendEvent toEvent() {
+        return new EmailSendEvent(toEmail, subject, body);
+    }
+}
\ No newline at end of file
@@ -19,7 +19,8 @@ import java.util.List;
 public class Todo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_seq")
+    @SequenceGenerator(name = "todos_seq", sequenceName = "todos_seq", allocationSize = 50) // pooled, lets inserts batch
     private Long id;
 
     @NotBlank(message = "Başlık boş olamaz (Entity Validasyonu)")
@@ -0,0 +1,49 @@
+package com.example.todoapp.pagination;
+
+import com.example.todoapp.dto.TodoResponse;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for cursor pagination: the (createdAt, id) pair of the last
+ * row a client has seen plus the sort direction, so the next page can seek directly
+ * to it instead of skipping an offset.
+ */
+public record TodoCursor(Sort.Direction direction, long createdAt, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static TodoCursor first(Sort.Direction direction) {
+        return direction.isAscending()
+                ? new TodoCursor(direction, Long.MIN_VALUE, Long.MIN_VALUE)
+                : new TodoCursor(direction, Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    public static TodoCursor after(TodoResponse last, Sort.Direction direction) {
+        return new TodoCursor(direction, last.createdAt(), last.id());
+    }
+
+    public String encode() {
+        String raw = direction.name() + SEPARATOR + createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TodoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return new TodoCursor(
+                    Sort.Direction.valueOf(parts[0]),
+                    Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2])
+            );
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
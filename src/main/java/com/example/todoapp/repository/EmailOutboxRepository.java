@@ -0,0 +1,30 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // oldest first; rows being claimed or leased by another instance are skipped, not waited on
+    @Query(value = "SELECT * FROM email_outbox WHERE claimed_until IS NULL OR claimed_until < :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> claimBatch(@Param("now") long now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE email_outbox SET claimed_until = :until WHERE id IN :ids", nativeQuery = true)
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") long until);
+
+    // failed rows count the attempt and become claimable again on the next run
+    @Modifying
+    @Query(value = "UPDATE email_outbox SET attempts = attempts + 1, claimed_until = NULL WHERE id IN :ids",
+            nativeQuery = true)
+    int releaseFailed(@Param("ids") Collection<Long> ids);
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.enums.Priority;
+
+import java.time.Instant;
+
+public record TodoFilter(
+        Boolean completed,
+        Priority priority,
+        String tag,
+        Boolean overdue,
+        String userEmail,
+        long now
+) {
+
+    public static TodoFilter of(Boolean completed, Priority priority, String tag, Boolean overdue, String userEmail) {
+        return new TodoFilter(completed, priority, tag, overdue, userEmail, Instant.now().toEpochMilli());
+    }
+
+    public boolean hasTag() {
+        return tag != null && !tag.isEmpty();
+    }
+}
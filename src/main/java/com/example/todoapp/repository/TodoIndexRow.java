@@ -0,0 +1,14 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.enums.Priority;
+
+import java.util.List;
+
+public record TodoIndexRow(
+        long id,
+        boolean completed,
+        Priority priority,
+        Long deadline,
+        List<String> tags
+) {
+}
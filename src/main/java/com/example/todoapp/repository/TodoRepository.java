@@ -2,42 +2,100 @@ package com.example.todoapp.repository;
 
 import com.example.todoapp.enums.Priority;
 import com.example.todoapp.model.Todo;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TodoRepository extends JpaRepository<Todo, Long> {
-
-    @Query("SELECT DISTINCT t.id FROM Todo t LEFT JOIN t.tags tag_element WHERE " +
-            "(:completed IS NULL OR t.completed = :completed) AND " +
-            "(:priority IS NULL OR t.priority = :priority) AND " +
-            "(:tag IS NULL OR :tag = '' OR tag_element = :tag) AND " +
-            "(:overdue IS NULL OR " +
-            "    (:overdue = true AND t.deadline IS NOT NULL AND t.deadline < :now) OR " +
-            "    (:overdue = false AND (t.deadline IS NULL OR t.deadline >= :now))" +
-            ") AND " +
-            "t.userEmail = :userEmail") //derived query
-    Page<Long> findTodoIds(
-            @Param("completed") Boolean completed,
-            @Param("priority") Priority priority,
-            @Param("tag") String tag,
-            @Param("overdue") Boolean overdue,
-            @Param("userEmail") String userEmail,
-            @Param("now") long now,
-            Pageable pageable
-    );
-
-    @Query("SELECT DISTINCT t FROM Todo t LEFT JOIN FETCH t.tags WHERE t.id IN :ids")
-    List<Todo> findByIdsWithTags(@Param("ids") List<Long> ids);
-
-    List<Todo> findByDeadlineIsNotNullAndDeadlineLessThanEqualAndCompletedFalseAndReminderSentFalse(long deadline);
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryCustom {
+
+    interface StatusCount {
+        boolean getCompleted();
+
+        Priority getPriority();
+
+        long getTotal();
+    }
+
+    interface TagCount {
+        String getTag();
+
+        long getTotal();
+    }
+
+    interface ReminderRow {
+        Long getId();
+
+        String getTitle();
+
+        Long getDeadline();
+
+        Priority getPriority();
+
+        String getUserEmail();
+    }
+
+    @Query("SELECT t.completed AS completed, t.priority AS priority, COUNT(t) AS total " +
+            "FROM Todo t WHERE t.userEmail = :userEmail GROUP BY t.completed, t.priority")
+    List<StatusCount> countByStatus(@Param("userEmail") String userEmail);
+
+    @Query("SELECT tag AS tag, COUNT(DISTINCT t) AS total " +
+            "FROM Todo t JOIN t.tags tag WHERE t.userEmail = :userEmail GROUP BY tag")
+    List<TagCount> countByTag(@Param("userEmail") String userEmail);
+
+    @Query("SELECT DISTINCT t FROM Todo t LEFT JOIN FETCH t.tags WHERE t.id IN :ids AND t.userEmail = :userEmail")
+    List<Todo> findByIdsAndUserEmailWithTags(@Param("ids") Collection<Long> ids, @Param("userEmail") String userEmail);
+
+    // element collection rows must go first, deleteAllByIdInBatch does not cascade to todo_tags
+    @Modifying
+    @Query(value = "DELETE FROM todo_tags WHERE todo_id IN :ids", nativeQuery = true)
+    int deleteTagsByTodoIds(@Param("ids") Collection<Long> ids);
+
+    // keyset over id, used to arm timers; sending claims rows with the locking variants below
+    @Query("SELECT t.id AS id, t.title AS title, t.deadline AS deadline, t.priority AS priority, " +
+            "t.userEmail AS userEmail FROM Todo t " +
+            "WHERE t.deadline IS NOT NULL AND t.deadline <= :deadline " +
+            "AND t.completed = false AND t.reminderSent = false AND t.id > :afterId " +
+            "ORDER BY t.id")
+    List<ReminderRow> findDueReminders(@Param("deadline") long deadline, @Param("afterId") long afterId, Limit limit);
+
+    // claims lock the returned rows until the chunk commits; other instances skip them instead of waiting,
+    // and once committed the rows no longer match, so each due todo is handed to exactly one instance
+    @Query(value = "SELECT t.id AS \"id\", t.title AS \"title\", t.deadline AS \"deadline\", " +
+            "t.priority AS \"priority\", t.user_email AS \"userEmail\" FROM todos t " +
+            "WHERE t.deadline IS NOT NULL AND t.deadline <= :deadline " +
+            "AND t.completed = FALSE AND t.reminder_sent = FALSE AND t.id > :afterId " +
+            "ORDER BY t.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReminderRow> claimDueReminders(@Param("deadline") long deadline, @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT t.id AS \"id\", t.title AS \"title\", t.deadline AS \"deadline\", " +
+            "t.priority AS \"priority\", t.user_email AS \"userEmail\" FROM todos t " +
+            "WHERE t.id IN :ids AND t.deadline IS NOT NULL AND t.deadline <= :deadline " +
+            "AND t.completed = FALSE AND t.reminder_sent = FALSE " +
+            "ORDER BY t.id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReminderRow> claimDueRemindersByIds(@Param("ids") Collection<Long> ids, @Param("deadline") long deadline);
+
+    // every due todo of the users owning the given todos, so a digest covers all of them
+    @Query(value = "SELECT t.id AS \"id\", t.title AS \"title\", t.deadline AS \"deadline\", " +
+            "t.priority AS \"priority\", t.user_email AS \"userEmail\" FROM todos t " +
+            "WHERE t.user_email IN (SELECT o.user_email FROM todos o WHERE o.id IN :ids) " +
+            "AND t.deadline IS NOT NULL AND t.deadline <= :deadline " +
+            "AND t.completed = FALSE AND t.reminder_sent = FALSE " +
+            "ORDER BY t.id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReminderRow> claimDueRemindersOfSameUsers(@Param("ids") Collection<Long> ids,
+                                                   @Param("deadline") long deadline);
+
+    @Modifying
+    @Query("UPDATE Todo t SET t.reminderSent = true WHERE t.id IN :ids")
+    int markRemindersSent(@Param("ids") Collection<Long> ids);
 
     Optional<Todo> findByIdAndUserEmail(Long id, String userEmail);
 
@@ -0,0 +1,42 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoCreateRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.pagination.TodoCursor;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TodoRepositoryCustom {
+
+    /**
+     * @param total matching row count from the same statement, null when not requested or no row came back
+     */
+    record ResultPage(List<TodoResponse> content, Long total) {
+    }
+
+    ResultPage findTodoResponses(TodoFilter filter, Sort sort, long offset, int limit, boolean withTotal);
+
+    List<TodoResponse> findTodoResponsesAfter(TodoFilter filter, TodoCursor cursor, int limit);
+
+    List<TodoResponse> findTodoResponsesByIds(TodoFilter filter, long[] ids, Sort sort, long offset, int limit);
+
+    long countTodos(TodoFilter filter);
+
+    List<TodoIndexRow> findIndexRows(String userEmail);
+
+    /**
+     * Hands every matching todo to the consumer in id order, reading from a forward-only cursor
+     * {@code fetchSize} rows at a time. Must run inside a transaction, otherwise the driver
+     * reads the whole result into memory first.
+     */
+    void streamTodoResponses(TodoFilter filter, int fetchSize, Consumer<TodoResponse> consumer);
+
+    /**
+     * Inserts the todos and their tags as two JDBC batches. Ids come from {@code todos_seq} in the
+     * same pooled blocks Hibernate takes, so they never collide with entities saved meanwhile.
+     * Returns the inserted todos in input order.
+     */
+    List<TodoResponse> insertTodos(List<TodoCreateRequest> requests, String userEmail, long createdAt);
+}
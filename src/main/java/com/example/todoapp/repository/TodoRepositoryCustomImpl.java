@@ -0,0 +1,256 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoCreateRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.pagination.TodoCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * List reads that go straight from SQL to {@link TodoResponse}: columns and the aggregated tags
+ * come back in one statement, in the requested order, without hydrating managed entities.
+ * Bulk inserts go the other way the same way, as plain JDBC batches.
+ */
+@RequiredArgsConstructor
+public class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    private static final String SELECT_COLUMNS =
+            "SELECT t.id, t.title, t.description, t.completed, t.created_at, t.deadline, t.priority, t.user_email, " +
+            "ARRAY(SELECT tt.tag FROM todo_tags tt WHERE tt.todo_id = t.id) AS tags";
+
+    private static final String TOTAL_COLUMN = ", COUNT(*) OVER () AS total_count";
+
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "title", "t.title",
+            "completed", "t.completed",
+            "createdAt", "t.created_at",
+            "deadline", "t.deadline",
+            "priority", "t.priority"
+    );
+
+    private static final RowMapper<TodoResponse> TODO_RESPONSE_MAPPER = (rs, rowNum) -> new TodoResponse(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getBoolean("completed"),
+            rs.getLong("created_at"),
+            rs.getObject("deadline", Long.class),
+            Priority.valueOf(rs.getString("priority")),
+            readTags(rs),
+            rs.getString("user_email")
+    );
+
+    private static final int ID_BLOCK_SIZE = 50; // INCREMENT BY of todos_seq, the allocationSize on Todo
+
+    private static final String INSERT_TODO =
+            "INSERT INTO todos (id, title, description, completed, reminder_sent, created_at, deadline, priority, user_email) " +
+            "VALUES (?, ?, ?, FALSE, FALSE, ?, ?, ?, ?)";
+    private static final int[] INSERT_TODO_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR};
+
+    private static final String INSERT_TAG = "INSERT INTO todo_tags (todo_id, tag) VALUES (?, ?)";
+    private static final int[] INSERT_TAG_TYPES = {Types.BIGINT, Types.VARCHAR};
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public ResultPage findTodoResponses(TodoFilter filter, Sort sort, long offset, int limit, boolean withTotal) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_COLUMNS + (withTotal ? TOTAL_COLUMN : "") +
+                " FROM todos t WHERE " + whereClause(filter, params) +
+                " ORDER BY " + orderBy(sort) +
+                " LIMIT :limit OFFSET :offset";
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+
+        List<Long> totals = new ArrayList<>(1);
+        List<TodoResponse> content = jdbcTemplate.query(sql, params, (rs, rowNum) -> {
+            if (withTotal && rowNum == 0) {
+                totals.add(rs.getLong("total_count"));
+            }
+            return TODO_RESPONSE_MAPPER.mapRow(rs, rowNum);
+        });
+
+        return new ResultPage(content, totals.isEmpty() ? null : totals.get(0));
+    }
+
+    @Override
+    public List<TodoResponse> findTodoResponsesAfter(TodoFilter filter, TodoCursor cursor, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String direction = cursor.direction().isAscending() ? "ASC" : "DESC";
+        String comparison = cursor.direction().isAscending() ? ">" : "<";
+
+        // row comparison lets PostgreSQL seek on (user_email, created_at, id) directly
+        String sql = SELECT_COLUMNS +
+                " FROM todos t WHERE " + whereClause(filter, params) +
+                " AND (t.created_at, t.id) " + comparison + " (:afterCreatedAt, :afterId)" +
+                " ORDER BY t.created_at " + direction + ", t.id " + direction +
+                " LIMIT :limit";
+        params.addValue("afterCreatedAt", cursor.createdAt());
+        params.addValue("afterId", cursor.id());
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql, params, TODO_RESPONSE_MAPPER);
+    }
+
+    @Override
+    public List<TodoResponse> findTodoResponsesByIds(TodoFilter filter, long[] ids, Sort sort, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_COLUMNS +
+                " FROM todos t WHERE " + whereClause(filter, params) +
+                " AND t.id = ANY(:ids)" +
+                " ORDER BY " + orderBy(sort) +
+                " LIMIT :limit OFFSET :offset";
+        params.addValue("ids", ids);
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+
+        return jdbcTemplate.query(sql, params, TODO_RESPONSE_MAPPER);
+    }
+
+    @Override
+    public long countTodos(TodoFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT COUNT(*) FROM todos t WHERE " + whereClause(filter, params);
+
+        Long count = jdbcTemplate.queryForObject(sql, params, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public List<TodoIndexRow> findIndexRows(String userEmail) {
+        String sql = "SELECT t.id, t.completed, t.priority, t.deadline, " +
+                "ARRAY(SELECT tt.tag FROM todo_tags tt WHERE tt.todo_id = t.id) AS tags " +
+                "FROM todos t WHERE t.user_email = :userEmail";
+
+        return jdbcTemplate.query(sql, new MapSqlParameterSource("userEmail", userEmail), (rs, rowNum) -> new TodoIndexRow(
+                rs.getLong("id"),
+                rs.getBoolean("completed"),
+                Priority.valueOf(rs.getString("priority")),
+                rs.getObject("deadline", Long.class),
+                readTags(rs)
+        ));
+    }
+
+    @Override
+    public void streamTodoResponses(TodoFilter filter, int fetchSize, Consumer<TodoResponse> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = SELECT_COLUMNS + " FROM todos t WHERE " + whereClause(filter, params) + " ORDER BY t.id";
+
+        // the fetch size is per template, so the cursor read gets its own over the same (transaction-bound) DataSource
+        JdbcTemplate cursor = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        cursor.setFetchSize(fetchSize);
+        new NamedParameterJdbcTemplate(cursor).query(sql, params,
+                (RowCallbackHandler) rs -> consumer.accept(TODO_RESPONSE_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    @Override
+    public List<TodoResponse> insertTodos(List<TodoCreateRequest> requests, String userEmail, long createdAt) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        // each value of todos_seq stands for the block (value - 49 .. value), as in V3
+        int blocks = (requests.size() + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> blockEnds = jdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT nextval('todos_seq') FROM generate_series(1, ?)", Long.class, blocks);
+
+        List<TodoResponse> todos = new ArrayList<>(requests.size());
+        List<Object[]> todoRows = new ArrayList<>(requests.size());
+        List<Object[]> tagRows = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TodoCreateRequest request = requests.get(i);
+            long id = blockEnds.get(i / ID_BLOCK_SIZE) - ID_BLOCK_SIZE + 1 + i % ID_BLOCK_SIZE;
+            List<String> tags = request.tags() == null ? new ArrayList<>() : new ArrayList<>(request.tags());
+
+            todoRows.add(new Object[]{id, request.title(), request.description(), createdAt, request.deadline(),
+                    request.priority().name(), userEmail});
+            for (String tag : tags) {
+                tagRows.add(new Object[]{id, tag});
+            }
+            todos.add(new TodoResponse(id, request.title(), request.description(), false, createdAt,
+                    request.deadline(), request.priority(), tags, userEmail));
+        }
+
+        // reWriteBatchedInserts turns each batch into multi-row INSERTs on the wire
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_TODO, todoRows, INSERT_TODO_TYPES);
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_TAG, tagRows, INSERT_TAG_TYPES);
+        }
+        return todos;
+    }
+
+    // only the filters that are actually set end up in the statement, so each combination gets its own plan
+    private String whereClause(TodoFilter filter, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder("t.user_email = :userEmail");
+        params.addValue("userEmail", filter.userEmail());
+
+        if (filter.completed() != null) {
+            where.append(" AND t.completed = :completed");
+            params.addValue("completed", filter.completed());
+        }
+        if (filter.priority() != null) {
+            where.append(" AND t.priority = :priority");
+            params.addValue("priority", filter.priority().name());
+        }
+        if (filter.hasTag()) {
+            where.append(" AND EXISTS (SELECT 1 FROM todo_tags ft WHERE ft.todo_id = t.id AND ft.tag = :tag)");
+            params.addValue("tag", filter.tag());
+        }
+        if (filter.overdue() != null) {
+            where.append(filter.overdue()
+                    ? " AND t.deadline IS NOT NULL AND t.deadline < :now"
+                    : " AND (t.deadline IS NULL OR t.deadline >= :now)");
+            params.addValue("now", filter.now());
+        }
+        return where.toString();
+    }
+
+    private String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        boolean sortedById = false;
+
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            orderBy.append(column).append(order.isAscending() ? " ASC" : " DESC").append(", ");
+            sortedById |= "id".equals(order.getProperty());
+        }
+
+        if (sortedById) {
+            return orderBy.substring(0, orderBy.length() - 2);
+        }
+        return orderBy.append("t.id ASC").toString(); // stable order for paging
+    }
+
+    private static List<String> readTags(ResultSet rs) throws SQLException {
+        Array tags = rs.getArray("tags");
+        if (tags == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return new ArrayList<>(Arrays.asList((String[]) tags.getArray()));
+        } finally {
+            tags.free();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.todoapp.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One timer per id, backed by the delay heap of a single-thread {@link ScheduledThreadPoolExecutor}.
+ * Arming an id again moves its timer; ids that fire together are handed to the handler as one batch.
+ * The handler runs on a thread of its own, so a slow batch never holds up the timers behind it; ids
+ * that fire while it runs make up the next batch.
+ */
+@Slf4j
+public class DeadlineTimer {
+
+    private record Entry(long fireAt, ScheduledFuture<?> future) {
+    }
+
+    private final Consumer<List<Long>> handler;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ExecutorService handlerExecutor;
+    private final Map<Long, Entry> armed = new ConcurrentHashMap<>();
+    private final Queue<Long> fired = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    public DeadlineTimer(String threadName, Consumer<List<Long>> handler) {
+        this.handler = handler;
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+        this.handlerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName + "-handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void arm(long id, long fireAtMillis) {
+        armed.compute(id, (key, existing) -> {
+            if (existing != null) {
+                if (existing.fireAt() == fireAtMillis) {
+                    return existing;
+                }
+                existing.future().cancel(false);
+            }
+            long delay = Math.max(0, fireAtMillis - System.currentTimeMillis());
+            return new Entry(fireAtMillis, executor.schedule(() -> fire(id, fireAtMillis), delay, TimeUnit.MILLISECONDS));
+        });
+    }
+
+    public void cancel(long id) {
+        Entry entry = armed.remove(id);
+        if (entry != null) {
+            entry.future().cancel(false);
+        }
+    }
+
+    public int size() {
+        return armed.size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        handlerExecutor.shutdownNow();
+    }
+
+    private void fire(long id, long fireAt) {
+        // computeIfPresent waits for an arm() that is still storing this timer (a zero delay can fire that early);
+        // a timer that was moved in the meantime must not fire for its old time
+        AtomicBoolean due = new AtomicBoolean();
+        armed.computeIfPresent(id, (key, entry) -> {
+            if (entry.fireAt() != fireAt) {
+                return entry;
+            }
+            due.set(true);
+            return null;
+        });
+        if (!due.get()) {
+            return;
+        }
+
+        fired.add(id);
+        // timers that fire before the drain starts, or while a slow batch still runs, end up in one batch
+        if (drainScheduled.compareAndSet(false, true)) {
+            handlerExecutor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+
+        List<Long> ids = new ArrayList<>();
+        Long id;
+        while ((id = fired.poll()) != null) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            handler.accept(ids);
+        } catch (RuntimeException e) {
+            log.error("Deadline handler failed for {} id(s)", ids.size(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -1,53 +1,90 @@
 package com.example.todoapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.HexFormat;
 
+/**
+ * Verifies a token with one parse against a parser and key built at startup. Verified tokens are
+ * cached by their SHA-256 digest until they expire, so repeat requests with the same token skip
+ * the HMAC check; tokens that fail verification are never cached.
+ */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public record VerifiedToken(String subject, Instant expiresAt) {
     }
 
-    public boolean isTokenValid(String token) {
-        return !isTokenExpired(token);
-    }
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)))
+                .build();
+        // 0 turns the cache off
+        this.verifiedTokens = cacheMaxSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(cacheMaxSize)
+                        .expireAfter(Expiry.creating((String digest, VerifiedToken token) ->
+                                Duration.between(Instant.now(), token.expiresAt())))
+                        .build()
+                : null;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    /**
+     * Returns the subject and expiry of a valid token; an invalid or expired one throws the
+     * {@link io.jsonwebtoken.JwtException} the parser raised.
+     */
+    public VerifiedToken verify(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        // expiry is also checked here, the cache may not have evicted the entry yet
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        VerifiedToken verified = parse(token);
+        verifiedTokens.put(digest, verified);
+        return verified;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            throw new MalformedJwtException("Token has no expiration");
+        }
+        return new VerifiedToken(claims.getSubject(), expiration.toInstant());
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // every JRE ships it
+        }
     }
 }
\ No newline at end of file
@@ -41,9 +41,11 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         try {
             final String token = authHeader.substring(7);  // jwt here
 
-            final String userEmail = jwtService.extractUsername(token);
+            // one parse verifies the signature and expiry and yields the subject
+            final JwtService.VerifiedToken verified = jwtService.verify(token);
+            final String userEmail = verified.subject();
 
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null && jwtService.isTokenValid(token)) {
+            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userEmail,
@@ -0,0 +1,153 @@
+package com.example.todoapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user token bucket, keyed by the email JwtTokenFilter authenticated. Each bucket is a single
+ * AtomicLong holding the time at which it will be full again (GCRA), so taking tokens is one CAS
+ * and never blocks. A request costs the first matching {@code todo.rate-limit.costs} entry
+ * ({@code "METHOD /pattern=cost"}, {@code *} for any method), 1 otherwise.
+ * <p>
+ * Buckets idle for {@code todo.rate-limit.idle-eviction-minutes} are dropped; by then they have
+ * refilled, so evicting one loses nothing.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record EndpointCost(String method, PathPattern pattern, int cost) {
+    }
+
+    private final boolean enabled;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final List<EndpointCost> endpointCosts = new ArrayList<>();
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter rejected;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${todo.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${todo.rate-limit.capacity:100}") int capacity,
+                           @Value("${todo.rate-limit.refill-per-second:20}") double refillPerSecond,
+                           @Value("${todo.rate-limit.costs:}") List<String> costs,
+                           @Value("${todo.rate-limit.idle-eviction-minutes:10}") long idleEvictionMinutes) {
+        this.enabled = enabled;
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstNanos = nanosPerToken * capacity;
+
+        PathPatternParser parser = PathPatternParser.defaultInstance;
+        for (String entry : costs) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.lastIndexOf('=');
+            String[] route = entry.substring(0, Math.max(equals, 0)).trim().split("\\s+");
+            if (equals < 0 || route.length != 2) {
+                throw new IllegalArgumentException("Invalid rate limit cost, expected 'METHOD /pattern=cost': " + entry);
+            }
+            int cost = Integer.parseInt(entry.substring(equals + 1).trim());
+            if (cost < 1 || cost > capacity) {
+                throw new IllegalArgumentException("Rate limit cost must be between 1 and the capacity: " + entry);
+            }
+            endpointCosts.add(new EndpointCost(route[0], parser.parse(route[1]), cost));
+        }
+
+        // a bucket must outlive its refill time, otherwise eviction would hand out a fresh burst early
+        Duration idle = Duration.ofMinutes(idleEvictionMinutes);
+        if (idle.toNanos() < burstNanos) {
+            idle = Duration.ofNanos(burstNanos);
+        }
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idle)
+                .build();
+        this.rejected = Counter.builder("todo.rate-limit.rejected")
+                .description("Requests rejected with 429 by the per-user rate limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!enabled || authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response); // anonymous requests are left to the security rules
+            return;
+        }
+
+        long waitNanos = tryAcquire(authentication.getName(), cost(request));
+        if (waitNanos > 0) {
+            rejected.increment();
+            log.debug("Rate limit exceeded for {} on {} {}", authentication.getName(),
+                    request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            response.getWriter().write("Too many requests");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // returns 0 when the tokens were taken, otherwise how long until they would be available
+    long tryAcquire(String userEmail, int cost) {
+        AtomicLong fullAt = buckets.get(userEmail, email -> new AtomicLong(Long.MIN_VALUE));
+        long increment = nanosPerToken * cost;
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            // a bucket that filled up in the past is simply full
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + increment;
+            long overdraft = next - now - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private int cost(HttpServletRequest request) {
+        if (endpointCosts.isEmpty()) {
+            return 1;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (EndpointCost endpointCost : endpointCosts) {
+            if (("*".equals(endpointCost.method()) || endpointCost.method().equalsIgnoreCase(request.getMethod()))
+                    && endpointCost.pattern().matches(path)) {
+                return endpointCost.cost();
+            }
+        }
+        return 1;
+    }
+}
\ No newline at end of file
@@ -1,29 +1,114 @@
 package com.example.todoapp.service;
 
 import com.example.todoapp.dto.EmailSendEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous email producer with a bounded in-flight window: a send waits for a permit while
+ * too many records are unacknowledged, and fails once the wait times out, which pushes back on
+ * the outbox relay instead of piling records into the producer buffer.
+ * Batching, linger and compression are the spring.kafka.producer.* settings.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailEventProducer {
 
+    public static final String DEDUPE_KEY_HEADER = "dedupe-key";
+    public static final String FAILURE_HEADER = "failure";
+
+    private final KafkaTemplate<String, EmailSendEvent> kafkaTemplate;  //topic,event
+    private final Semaphore inFlight;
+    private final long acquireTimeoutMillis;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+
     @Value("${kafka.topic.email-send}")
     private String emailSendTopic;
 
-    private final KafkaTemplate<String, EmailSendEvent> kafkaTemplate;  //topic,event
+    @Value("${kafka.topic.email-send-dlt:${kafka.topic.email-send}.DLT}")
+    private String emailSendDeadLetterTopic;
 
-    public void sendEmailEvent(EmailSendEvent event) {
+    public EmailEventProducer(KafkaTemplate<String, EmailSendEvent> kafkaTemplate, MeterRegistry meterRegistry,
+                              @Value("${email.producer.max-in-flight:2000}") int maxInFlight,
+                              @Value("${email.producer.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.sendSuccess = sendTimer(meterRegistry, "success");
+        this.sendFailure = sendTimer(meterRegistry, "failure");
 
-        log.info("E-posta gönderme komutu Kafka'ya ({}) gönderiliyor: {}", emailSendTopic, event);
+        Gauge.builder("email.producer.in.flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .description("Email records sent but not yet acknowledged by Kafka")
+                .register(meterRegistry);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("email.producer.send")
+                .description("Time from send to broker acknowledgement")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, EmailSendEvent>> send(EmailSendEvent event, String dedupeKey) {
+        log.debug("E-posta gönderme komutu Kafka'ya ({}) gönderiliyor: {}", emailSendTopic, dedupeKey);
+
+        return send(record(emailSendTopic, event, dedupeKey));
+    }
+
+    public CompletableFuture<SendResult<String, EmailSendEvent>> sendToDeadLetter(EmailSendEvent event, String dedupeKey,
+                                                                                 Throwable failure) {
+        log.warn("E-posta komutu dead-letter topic'e ({}) gönderiliyor: {}", emailSendDeadLetterTopic, dedupeKey, failure);
+
+        ProducerRecord<String, EmailSendEvent> record = record(emailSendDeadLetterTopic, event, dedupeKey);
+        record.headers().add(FAILURE_HEADER, String.valueOf(failure).getBytes(StandardCharsets.UTF_8));
+        return send(record);
+    }
+
+    private ProducerRecord<String, EmailSendEvent> record(String topic, EmailSendEvent event, String dedupeKey) {
+        ProducerRecord<String, EmailSendEvent> record = new ProducerRecord<>(topic, event.toEmail(), event);
+        record.headers().add(DEDUPE_KEY_HEADER, dedupeKey.getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private CompletableFuture<SendResult<String, EmailSendEvent>> send(ProducerRecord<String, EmailSendEvent> record) {
         try {
-            kafkaTemplate.send(emailSendTopic, event.toEmail(), event);
-        } catch (Exception e) {
-            log.error("Kafka'ya e-posta komutu gönderirken hata oluştu: {}", event, e);
+            if (!inFlight.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "In-flight window full, no Kafka acknowledgement for " + acquireTimeoutMillis + " ms"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
         }
+
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, EmailSendEvent>> future;
+        try {
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException e) {
+            // e.g. metadata or buffer timeouts are thrown before the record is queued
+            inFlight.release();
+            sendFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((result, failure) -> {
+            inFlight.release();
+            (failure == null ? sendSuccess : sendFailure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.EmailOutboxMessage;
+import com.example.todoapp.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EmailOutbox {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    // joins the caller's transaction: the emails commit or roll back with the change that caused them
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(List<EmailOutboxMessage> messages) {
+        emailOutboxRepository.saveAll(messages);
+    }
+}
\ No newline at end of file
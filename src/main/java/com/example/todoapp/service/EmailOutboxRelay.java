@@ -0,0 +1,195 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.EmailOutboxMessage;
+import com.example.todoapp.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox to Kafka. A batch is claimed with SKIP LOCKED and leased in one short
+ * transaction, handed to the producer in full before any acknowledgement is awaited, and settled in a
+ * second short transaction: acknowledged rows are deleted, failed ones released. No row lock or
+ * connection is held while Kafka acknowledges. A crash between the send and the delete sends those
+ * emails again once the lease runs out, so delivery is at-least-once; consumers dedupe on the
+ * {@code dedupe-key} header.
+ * <p>
+ * Failed rows stay in the outbox with their attempt count raised. Records Kafka can never accept,
+ * and rows that reach {@code email.outbox.max-attempts}, go to the dead-letter topic instead.
+ */
+@Service
+@Slf4j
+public class EmailOutboxRelay {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailEventProducer emailEventProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSizes;
+    private final AtomicLong pending = new AtomicLong();
+
+    @Value("${email.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${email.outbox.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+
+    @Value("${email.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    // must outlast the send timeout, or another instance claims the rows while they are still being sent
+    @Value("${email.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public EmailOutboxRelay(EmailOutboxRepository emailOutboxRepository, EmailEventProducer emailEventProducer,
+                            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailEventProducer = emailEventProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSizes = DistributionSummary.builder("email.outbox.relay.batch.size")
+                .description("Outbox rows claimed per relay batch")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox rows waiting to be relayed, as of the last sample")
+                .register(meterRegistry);
+    }
+
+    private record BatchResult(int claimed, int delivered) {
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.relay-delay:1000}")
+    public void relay() {
+        while (true) {
+            BatchResult result = relayBatch();
+            // stop on a short batch, or when the broker failed part of it and a retry would only spin
+            if (result == null || result.claimed() < batchSize || result.delivered() < result.claimed()) {
+                break;
+            }
+        }
+    }
+
+    // COUNT(*) reads the whole outbox, so the gauge is sampled on its own slower schedule, not every relay run
+    @Scheduled(fixedRateString = "${email.outbox.pending-sample-rate:60000}")
+    public void samplePending() {
+        pending.set(emailOutboxRepository.count());
+    }
+
+    private BatchResult relayBatch() {
+        long now = System.currentTimeMillis();
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> claim(now));
+        if (batch == null || batch.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            sends.add(emailEventProducer.send(message.toEvent(), message.getDedupeKey()));
+        }
+
+        batchSizes.record(batch.size());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(sendTimeoutSeconds).toNanos();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Long> failed = new ArrayList<>();
+        List<CompletableFuture<?>> deadLetters = new ArrayList<>();
+        List<EmailOutboxMessage> deadLettered = new ArrayList<>();
+        Throwable firstFailure = null;
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage message = batch.get(i);
+            Throwable failure = await(sends.get(i), deadline);
+            if (failure == null) {
+                delivered.add(message.getId());
+                continue;
+            }
+            if (firstFailure == null) {
+                firstFailure = failure;
+            }
+
+            if (!isRetriable(failure) || message.getAttempts() + 1 >= maxAttempts) {
+                deadLetters.add(emailEventProducer.sendToDeadLetter(message.toEvent(), message.getDedupeKey(), failure));
+                deadLettered.add(message);
+            } else {
+                failed.add(message.getId());
+            }
+        }
+
+        for (int i = 0; i < deadLettered.size(); i++) {
+            Long id = deadLettered.get(i).getId();
+            (await(deadLetters.get(i), deadline) == null ? delivered : failed).add(id);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> settle(delivered, failed));
+        if (firstFailure != null) {
+            log.warn("{} of {} outbox email(s) were not acknowledged by Kafka ({} dead-lettered), retrying later",
+                    failed.size(), batch.size(), deadLettered.size(), firstFailure);
+        }
+        return new BatchResult(batch.size(), delivered.size());
+    }
+
+    private List<EmailOutboxMessage> claim(long now) {
+        List<EmailOutboxMessage> batch = emailOutboxRepository.claimBatch(now, batchSize);
+        if (!batch.isEmpty()) {
+            List<Long> ids = batch.stream().map(EmailOutboxMessage::getId).toList();
+            emailOutboxRepository.lease(ids, now + Duration.ofSeconds(leaseSeconds).toMillis());
+        }
+        return batch;
+    }
+
+    private void settle(List<Long> delivered, List<Long> failed) {
+        if (!delivered.isEmpty()) {
+            emailOutboxRepository.deleteAllByIdInBatch(delivered);
+        }
+        if (!failed.isEmpty()) {
+            emailOutboxRepository.releaseFailed(failed);
+        }
+    }
+
+    // returns the failure, or null once the broker acknowledged the record
+    private Throwable await(CompletableFuture<?> send, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return unwrap(e.getCause());
+        } catch (TimeoutException e) {
+            return e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof KafkaProducerException || cause instanceof CompletionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    // these fail the same way on every attempt, so retrying them only delays the rest of the outbox
+    private static boolean isRetriable(Throwable failure) {
+        return !(failure instanceof RecordTooLargeException
+                || failure instanceof SerializationException
+                || failure instanceof InvalidTopicException);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.EmailSendEvent;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.template.MessageTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+// overdue reminders are written in Turkish, upcoming ones in English
+@Component
+public class ReminderEmailRenderer {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+                    .withZone(ZoneId.of("Europe/Istanbul")); //system default
+
+    private static final String[] TODO_FIELDS = {"title", "deadline", "priority"};
+
+    private static final MessageTemplate OVERDUE_SUBJECT =
+            MessageTemplate.compile("GÖREV SÜRESİ DOLDU: {title}", TODO_FIELDS);
+    private static final MessageTemplate OVERDUE_BODY = MessageTemplate.compile(
+            "'{title}' başlıklı görevinizin son tarihi geçti!\n\nSon Tarih: {deadline}\n\nÖncelik: {priority}",
+            TODO_FIELDS);
+    private static final MessageTemplate UPCOMING_SUBJECT =
+            MessageTemplate.compile("Todo Reminder: {title}", TODO_FIELDS);
+    private static final MessageTemplate UPCOMING_BODY = MessageTemplate.compile(
+            "Your task '{title}' is approaching its deadline!\n\nDeadline: {deadline}\n\nPriority: {priority}",
+            TODO_FIELDS);
+
+    private static final MessageTemplate DIGEST_OVERDUE_SUBJECT =
+            MessageTemplate.compile("GÖREV SÜRESİ DOLDU: {count} görevinizin son tarihi geçti", "count");
+    private static final MessageTemplate DIGEST_UPCOMING_SUBJECT =
+            MessageTemplate.compile("Todo Reminder: {count} tasks are approaching their deadline", "count");
+    private static final String DIGEST_OVERDUE_HEADER = "Son tarihi geçen görevleriniz:\n\n";
+    private static final MessageTemplate DIGEST_OVERDUE_LINE = MessageTemplate.compile(
+            "- '{title}' | Son Tarih: {deadline} | Öncelik: {priority}\n", TODO_FIELDS);
+    private static final String DIGEST_UPCOMING_HEADER = "Tasks approaching their deadline:\n\n";
+    private static final MessageTemplate DIGEST_UPCOMING_LINE = MessageTemplate.compile(
+            "- '{title}' | Deadline: {deadline} | Priority: {priority}\n", TODO_FIELDS);
+
+    public EmailSendEvent reminder(TodoRepository.ReminderRow todo, long now) {
+        String deadline = DATE_FORMATTER.format(Instant.ofEpochMilli(todo.getDeadline()));
+        boolean isOverdue = todo.getDeadline() < now;
+
+        return new EmailSendEvent(
+                todo.getUserEmail(),
+                (isOverdue ? OVERDUE_SUBJECT : UPCOMING_SUBJECT).render(todo.getTitle(), deadline, todo.getPriority()),
+                (isOverdue ? OVERDUE_BODY : UPCOMING_BODY).render(todo.getTitle(), deadline, todo.getPriority())
+        );
+    }
+
+    // one email for all of a user's due todos: overdue ones first, then the upcoming ones
+    public EmailSendEvent digest(String userEmail, List<TodoRepository.ReminderRow> todos, long now) {
+        List<TodoRepository.ReminderRow> overdue = new ArrayList<>();
+        List<TodoRepository.ReminderRow> upcoming = new ArrayList<>();
+        for (TodoRepository.ReminderRow todo : todos) {
+            (todo.getDeadline() < now ? overdue : upcoming).add(todo);
+        }
+
+        StringBuilder body = new StringBuilder(64 * todos.size());
+        appendSection(body, DIGEST_OVERDUE_HEADER, DIGEST_OVERDUE_LINE, overdue);
+        if (!overdue.isEmpty() && !upcoming.isEmpty()) {
+            body.append('\n');
+        }
+        appendSection(body, DIGEST_UPCOMING_HEADER, DIGEST_UPCOMING_LINE, upcoming);
+
+        String subject = overdue.isEmpty()
+                ? DIGEST_UPCOMING_SUBJECT.render(upcoming.size())
+                : DIGEST_OVERDUE_SUBJECT.render(overdue.size());
+        return new EmailSendEvent(userEmail, subject, body.toString());
+    }
+
+    private void appendSection(StringBuilder body, String header, MessageTemplate line,
+                               List<TodoRepository.ReminderRow> todos) {
+        if (todos.isEmpty()) {
+            return;
+        }
+        body.append(header);
+        for (TodoRepository.ReminderRow todo : todos) {
+            line.renderTo(body, todo.getTitle(), DATE_FORMATTER.format(Instant.ofEpochMilli(todo.getDeadline())),
+                    todo.getPriority());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.todoapp.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bean Validation for requests that are checked one item at a time, such as batch items and
+ * imported records, where a failure is reported next to its item instead of failing the whole call.
+ */
+public final class RequestValidation {
+
+    private RequestValidation() {
+    }
+
+    // null when the request is valid, otherwise "property: message" for each violation
+    public static String violations(Validator validator, Object request) {
+        if (request == null) {
+            return "Request null olamaz";
+        }
+
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                // an element of a list reads as tags[0] rather than tags[0].<list element>
+                .map(violation -> violation.getPropertyPath().toString().replace(".<list element>", "")
+                        + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.ExportFormat;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.repository.TodoFilter;
+import com.example.todoapp.repository.TodoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes a user's todos to a stream as they come off a database cursor, so memory use does not
+ * depend on how many todos the user has. Rows are read as DTOs, never as managed entities, so
+ * nothing accumulates in a persistence context. A failed write (the client went away) aborts the
+ * read and closes the cursor, which stops the query.
+ */
+@Service
+@Slf4j
+public class TodoExportService {
+
+    private static final String CSV_HEADER = "id,title,description,completed,createdAt,deadline,priority,tags\n";
+
+    private final TodoRepository todoRepository;
+    private final ObjectWriter todoWriter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${todo.export.fetch-size:500}")
+    private int fetchSize;
+
+    public TodoExportService(TodoRepository todoRepository, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.todoRepository = todoRepository;
+        this.objectMapper = objectMapper;
+        this.todoWriter = objectMapper.writerFor(TodoResponse.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void exportTodos(Boolean completed, Priority priority, String tag, Boolean overdue, String userEmail,
+                            ExportFormat format, OutputStream out) throws IOException {
+        TodoFilter filter = TodoFilter.of(completed, priority, tag, overdue, userEmail);
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(filter, out);
+                case CSV -> writeCsv(filter, out);
+            }
+        } catch (UncheckedIOException e) {
+            log.debug("Export for {} aborted: {}", filter.userEmail(), e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(TodoFilter filter, OutputStream out) throws IOException {
+        // the generator buffers and flushes to the response as its buffer fills; the response stream stays open
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            stream(filter, todo -> {
+                todoWriter.writeValue(generator, todo);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writeCsv(TodoFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        stream(filter, todo -> {
+            writer.append(String.valueOf(todo.id())).append(',')
+                    .append(csv(todo.title())).append(',')
+                    .append(csv(todo.description())).append(',')
+                    .append(String.valueOf(todo.completed())).append(',')
+                    .append(String.valueOf(todo.createdAt())).append(',')
+                    .append(todo.deadline() == null ? "" : String.valueOf(todo.deadline())).append(',')
+                    .append(todo.priority().name()).append(',')
+                    .append(csv(tags(todo.tags()))).append('\n');
+        });
+        writer.flush();
+    }
+
+    private interface TodoSink {
+        void write(TodoResponse todo) throws IOException;
+    }
+
+    private void stream(TodoFilter filter, TodoSink sink) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                todoRepository.streamTodoResponses(filter, fetchSize, todo -> {
+                    try {
+                        sink.write(todo);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    // tags are ';'-separated, so a ';' or '\' inside a tag is escaped with '\'; TodoImportService splits them back
+    private static String tags(List<String> tags) {
+        if (tags == null) {
+            return "";
+        }
+        StringBuilder joined = new StringBuilder();
+        for (String tag : tags) {
+            if (!joined.isEmpty()) {
+                joined.append(';');
+            }
+            joined.append(tag.replace("\\", "\\\\").replace(";", "\\;"));
+        }
+        return joined.toString();
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling inner quotes
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+}
\ No newline at end of file
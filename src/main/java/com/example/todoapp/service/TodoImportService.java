@@ -0,0 +1,406 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoCreateRequest;
+import com.example.todoapp.dto.TodoImportResult;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.ExportFormat;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.sql.QueryStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports todos from an NDJSON or CSV upload while it is being read: records are parsed and
+ * validated one at a time, and valid ones are inserted in chunks of {@code todo.import.chunk-size}
+ * through plain JDBC batches. Each chunk commits on its own, so memory use does not depend on the
+ * size of the upload, and a failure late in the file keeps everything imported before it. A chunk
+ * the database rejects is split in halves until the rejected records, and their lines, are found.
+ * <p>
+ * Both formats accept what the export writes; columns and fields a create request does not have
+ * (id, completed, createdAt...) are ignored.
+ */
+@Service
+@Slf4j
+public class TodoImportService {
+
+    private static final int MAX_RECORD_CHARS = 16 * 1024;
+    private static final String[] REQUIRED_CSV_COLUMNS = {"title", "priority"};
+
+    private final TodoRepository todoRepository;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${todo.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${todo.import.max-errors:1000}")
+    private int maxErrors;
+
+    public TodoImportService(TodoRepository todoRepository, ObjectMapper objectMapper, Validator validator,
+                             PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.todoRepository = todoRepository;
+        this.requestReader = objectMapper.readerFor(TodoCreateRequest.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    private record ImportRecord(long line, TodoCreateRequest request, String error) {
+
+        static ImportRecord failure(long line, String error) {
+            return new ImportRecord(line, null, error);
+        }
+    }
+
+    private interface RecordSource {
+        // null at the end of the input
+        ImportRecord next() throws IOException;
+    }
+
+    public TodoImportResult importTodos(InputStream in, ExportFormat format, String userEmail) throws IOException {
+        // a few statements per chunk, however many chunks the upload has
+        QueryStats.liftBudget();
+
+        UploadReader reader = new UploadReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024));
+        RecordSource source = switch (format) {
+            case NDJSON -> ndjson(reader);
+            case CSV -> csv(reader);
+        };
+
+        List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+        Progress progress = new Progress(maxErrors);
+
+        for (ImportRecord record = source.next(); record != null; record = source.next()) {
+            // same rules, and the same message format, as the batch create endpoint
+            String error = record.error() != null
+                    ? record.error()
+                    : RequestValidation.violations(validator, record.request());
+            if (error != null) {
+                progress.fail(1, record.line(), error);
+                continue;
+            }
+
+            chunk.add(record);
+            if (chunk.size() == chunkSize) {
+                insert(chunk, userEmail, progress);
+                chunk.clear();
+            }
+        }
+        insert(chunk, userEmail, progress);
+
+        log.info("Imported {} todo(s) for {}, {} record(s) failed", progress.imported, userEmail, progress.failed);
+        return progress.toResult();
+    }
+
+    // the records are inserted as a whole or, when their transaction fails, retried in halves, so only
+    // the records the database rejects are lost; a few bad records cost O(bad * log(chunk)) transactions
+    private void insert(List<ImportRecord> records, String userEmail, Progress progress) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        List<TodoCreateRequest> requests = records.stream().map(ImportRecord::request).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<TodoResponse> todos = todoRepository.insertTodos(requests, userEmail, Instant.now().toEpochMilli());
+                // list versions, counters, the tag index and reminder timers follow on commit
+                eventPublisher.publishEvent(TodoChangedEvent.created(userEmail, todos));
+            });
+            progress.imported += records.size();
+        } catch (DataAccessException e) {
+            if (records.size() == 1) {
+                long line = records.get(0).line();
+                log.warn("Import line {} for {} could not be saved", line, userEmail, e);
+                progress.fail(1, line, "Kayıt kaydedilemedi: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            int half = records.size() / 2;
+            insert(records.subList(0, half), userEmail, progress);
+            insert(records.subList(half, records.size()), userEmail, progress);
+        }
+    }
+
+    private static final class Progress {
+
+        private final int maxErrors;
+        private final List<TodoImportResult.LineError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+        private boolean errorsTruncated;
+
+        Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(int records, long line, String error) {
+            failed += records;
+            if (errors.size() < maxErrors) {
+                errors.add(new TodoImportResult.LineError(line, error));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        TodoImportResult toResult() {
+            return new TodoImportResult(imported, failed, errors, errorsTruncated);
+        }
+    }
+
+    private RecordSource ndjson(UploadReader reader) {
+        return () -> {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (reader.tooLong()) {
+                    return ImportRecord.failure(reader.line(), tooLongError());
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ImportRecord(reader.line(), requestReader.readValue(line), null);
+                } catch (JsonProcessingException e) {
+                    return ImportRecord.failure(reader.line(), "Geçersiz JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        };
+    }
+
+    private RecordSource csv(UploadReader reader) throws IOException {
+        List<String> header = reader.readCsvRecord();
+        if (header == null) {
+            return () -> null;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = i == 0 ? stripByteOrderMark(header.get(i)) : header.get(i);
+            columns.putIfAbsent(name.trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV başlık satırında 'title' ve 'priority' sütunları olmalıdır.");
+            }
+        }
+
+        return () -> {
+            for (List<String> fields = reader.readCsvRecord(); fields != null; fields = reader.readCsvRecord()) {
+                if (reader.tooLong()) {
+                    return ImportRecord.failure(reader.line(), tooLongError());
+                }
+                if (reader.unterminatedQuote()) {
+                    return ImportRecord.failure(reader.line(), "Kapanmamış tırnak işareti.");
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                return csvRecord(reader.line(), fields, columns);
+            }
+            return null;
+        };
+    }
+
+    private static ImportRecord csvRecord(long line, List<String> fields, Map<String, Integer> columns) {
+        String deadline = field(fields, columns, "deadline");
+        String priority = field(fields, columns, "priority");
+        String tags = field(fields, columns, "tags");
+
+        Long parsedDeadline;
+        try {
+            parsedDeadline = deadline == null ? null : Long.valueOf(deadline.trim());
+        } catch (NumberFormatException e) {
+            return ImportRecord.failure(line, "deadline: epoch milisaniye cinsinden bir sayı olmalıdır.");
+        }
+
+        Priority parsedPriority;
+        try {
+            parsedPriority = priority == null ? null : Priority.valueOf(priority.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ImportRecord.failure(line, "priority: LOW, MEDIUM veya HIGH olmalıdır.");
+        }
+
+        return new ImportRecord(line, new TodoCreateRequest(
+                field(fields, columns, "title"),
+                field(fields, columns, "description"),
+                parsedDeadline,
+                parsedPriority,
+                tags == null ? null : splitTags(tags).stream()
+                        .map(String::trim)
+                        .filter(tag -> !tag.isEmpty())
+                        .toList()
+        ), null);
+    }
+
+    // the reverse of the export: ';' separates tags unless escaped, '\' escapes the next character
+    private static List<String> splitTags(String tags) {
+        List<String> split = new ArrayList<>();
+        StringBuilder tag = new StringBuilder();
+        for (int i = 0; i < tags.length(); i++) {
+            char c = tags.charAt(i);
+            if (c == '\\' && i + 1 < tags.length()) {
+                tag.append(tags.charAt(++i));
+            } else if (c == ';') {
+                split.add(tag.toString());
+                tag.setLength(0);
+            } else {
+                tag.append(c);
+            }
+        }
+        split.add(tag.toString());
+        return split;
+    }
+
+    // empty and missing fields both read as null, as the export writes nulls as empty fields
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static String stripByteOrderMark(String value) {
+        return value.startsWith("\uFEFF") ? value.substring(1) : value;
+    }
+
+    private static String tooLongError() {
+        return "Kayıt " + MAX_RECORD_CHARS + " karakterden uzun olamaz.";
+    }
+
+    /**
+     * Reads the upload one line, or one CSV record, at a time. At most {@link #MAX_RECORD_CHARS}
+     * of a record are kept; the rest is skipped and the record is flagged, so one runaway line
+     * cannot pull the whole upload into memory.
+     */
+    private static final class UploadReader {
+
+        private final Reader reader;
+        private long nextLine = 1;
+        private long line;
+        private int recordChars;
+        private boolean tooLong;
+        private boolean unterminatedQuote;
+
+        UploadReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // line number the last record started on
+        long line() {
+            return line;
+        }
+
+        boolean tooLong() {
+            return tooLong;
+        }
+
+        boolean unterminatedQuote() {
+            return unterminatedQuote;
+        }
+
+        String readLine() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            startRecord();
+
+            StringBuilder value = new StringBuilder();
+            while (c != -1 && c != '\n') {
+                if (c != '\r') {
+                    append(value, c);
+                }
+                c = reader.read();
+            }
+            nextLine++;
+            return value.toString();
+        }
+
+        // RFC 4180: quoted fields may hold separators, line breaks and doubled quotes
+        List<String> readCsvRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            startRecord();
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        unterminatedQuote = true;
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue; // the character after the closing quote is handled unquoted
+                        }
+                    } else if (c == '\n') {
+                        nextLine++;
+                    }
+                    append(field, c);
+                } else if (c == -1 || c == '\n') {
+                    nextLine++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c != '\r') {
+                    append(field, c);
+                }
+                c = reader.read();
+            }
+        }
+
+        private void startRecord() {
+            line = nextLine;
+            recordChars = 0;
+            tooLong = false;
+            unterminatedQuote = false;
+        }
+
+        private void append(StringBuilder value, int c) {
+            if (++recordChars > MAX_RECORD_CHARS) {
+                tooLong = true;
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+}
\ No newline at end of file
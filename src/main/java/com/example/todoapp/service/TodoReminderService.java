@@ -1,19 +1,29 @@
 package com.example.todoapp.service;
 
-import com.example.todoapp.dto.EmailSendEvent;
-import com.example.todoapp.model.Todo;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.model.EmailOutboxMessage;
 import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.scheduling.DeadlineTimer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
@@ -21,77 +31,209 @@ import java.util.List;
 public class TodoReminderService {
 
     private final TodoRepository todoRepository;
-    private final EmailEventProducer emailEventProducer;
+    private final EmailOutbox emailOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final ReminderEmailRenderer reminderEmailRenderer;
 
     @Value("${todo.reminder.window-seconds:30}")
     private long notificationWindowSeconds;
 
-    private static final DateTimeFormatter DATE_FORMATTER =
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
-                    .withZone(ZoneId.of("Europe/Istanbul")); //system default
+    // digest mode: all of a user's todos due within the digest window go out as one email
+    @Value("${todo.reminder.digest.enabled:false}")
+    private boolean digestEnabled;
 
-    @Scheduled(fixedRateString = "${todo.reminder.schedule.rate}")
-    @Transactional
+    @Value("${todo.reminder.digest.window-seconds:900}")
+    private long digestWindowSeconds;
+
+    @Value("${todo.reminder.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${todo.reminder.timer.horizon-minutes:60}")
+    private long timerHorizonMinutes;
+
+    // a timer may fire a little before the wall clock agrees the todo is inside the window
+    private static final long TIMER_TOLERANCE_MILLIS = 1000;
+
+    // with virtual threads each fixed-rate tick runs on its own thread, so a slow run could overlap the next one
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    // reminders are fired by this timer at deadline - lead time; the scheduled run below is the DB safety net
+    private DeadlineTimer reminderTimer;
+
+    @PostConstruct
+    void startTimer() {
+        reminderTimer = new DeadlineTimer("reminder-timer", this::sendArmedReminders);
+    }
+
+    @PreDestroy
+    void stopTimer() {
+        reminderTimer.shutdown();
+    }
+
+    // safety net: sends whatever the timer missed (writes on other instances, restarts) and arms the next horizon
+    @Scheduled(fixedRateString = "${todo.reminder.reconcile-rate:300000}")
     public void checkAndSendReminders() {
+        if (!runLock.tryLock()) {
+            log.debug("Previous reminder run still in progress, skipping");
+            return;
+        }
+        try {
+            sendDueReminders();
+            armUpcomingReminders();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        long horizonEnd = Instant.now().plus(Duration.ofMinutes(timerHorizonMinutes)).toEpochMilli();
+
+        for (TodoChangedEvent.Change change : event.changes()) {
+            TodoResponse after = change.after();
+            if (after == null) {
+                reminderTimer.cancel(change.before().id());
+                continue;
+            }
+
+            Long fireAt = after.completed() || after.deadline() == null ? null : reminderTime(after.deadline());
+            if (fireAt != null && fireAt <= horizonEnd) {
+                reminderTimer.arm(after.id(), fireAt);
+            } else {
+                reminderTimer.cancel(after.id()); // beyond the horizon: a later reconcile run arms it
+            }
+        }
+    }
+
+    private void sendDueReminders() {
         long notificationTime = Instant.now()
-                .plusSeconds(notificationWindowSeconds)
+                .plusSeconds(leadSeconds())
                 .toEpochMilli();
 
-        List<Todo> todosToRemind = todoRepository
-                .findByDeadlineIsNotNullAndDeadlineLessThanEqualAndCompletedFalseAndReminderSentFalse(notificationTime);
+        long afterId = 0;
+        int sent = 0;
+        while (true) {
+            long chunkAfterId = afterId;
+            // each chunk commits on its own: a failure later in the run keeps the chunks already marked
+            ChunkResult chunk = transactionTemplate.execute(status -> processChunk(notificationTime, chunkAfterId));
+            if (chunk == null || chunk.lastId() == null) {
+                break;
+            }
+            afterId = chunk.lastId();
+            sent += chunk.sent();
+            if (!chunk.full()) {
+                break;
+            }
+        }
 
-        if (todosToRemind.isEmpty()) {
+        if (sent == 0 && afterId == 0) {
             log.debug("No reminders to send");
-            return;
+        } else {
+            log.info("Queued {} reminder(s)", sent);
         }
+    }
 
-        log.info("Sending {} reminder(s)", todosToRemind.size());
+    private void armUpcomingReminders() {
+        long horizonEnd = Instant.now()
+                .plusSeconds(leadSeconds())
+                .plus(Duration.ofMinutes(timerHorizonMinutes))
+                .toEpochMilli();
 
-        todosToRemind.forEach(this::sendReminderAndMarkAsSent);
+        long afterId = 0;
+        while (true) {
+            List<TodoRepository.ReminderRow> rows = todoRepository
+                    .findDueReminders(horizonEnd, afterId, Limit.of(chunkSize));
+            rows.forEach(row -> reminderTimer.arm(row.getId(), reminderTime(row.getDeadline())));
+            if (rows.size() < chunkSize) {
+                break;
+            }
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+
+        log.debug("{} reminder timer(s) armed", reminderTimer.size());
     }
 
-    private void sendReminderAndMarkAsSent(Todo todo) {
-        try {
-            long now = Instant.now().toEpochMilli();
+    private void sendArmedReminders(List<Long> ids) {
+        long notificationTime = Instant.now()
+                .plusSeconds(leadSeconds())
+                .toEpochMilli() + TIMER_TOLERANCE_MILLIS;
+
+        int sent = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            // the todo may have been completed, moved, deleted or claimed elsewhere since it was armed;
+            // in digest mode the users' other due todos join the same email
+            Integer chunkSent = transactionTemplate.execute(status -> sendAndMark(digestEnabled
+                    ? todoRepository.claimDueRemindersOfSameUsers(chunkIds, notificationTime)
+                    : todoRepository.claimDueRemindersByIds(chunkIds, notificationTime)));
+            sent += chunkSent == null ? 0 : chunkSent;
+        }
+        if (sent > 0) {
+            log.info("Queued {} reminder(s) on time", sent);
+        }
+    }
 
-            boolean isOverdue = todo.getDeadline() < now;
+    private long reminderTime(long deadline) {
+        return deadline - Duration.ofSeconds(leadSeconds()).toMillis();
+    }
 
-            String formattedDeadline = DATE_FORMATTER.format(Instant.ofEpochMilli(todo.getDeadline()));
+    private long leadSeconds() {
+        return digestEnabled ? Math.max(notificationWindowSeconds, digestWindowSeconds) : notificationWindowSeconds;
+    }
 
-            String subject;
-            String body;
+    private ChunkResult processChunk(long notificationTime, long afterId) {
+        List<TodoRepository.ReminderRow> chunk = todoRepository
+                .claimDueReminders(notificationTime, afterId, chunkSize);
+        if (chunk.isEmpty()) {
+            return new ChunkResult(null, 0, false);
+        }
 
-            if (isOverdue) {
-                subject = "GÖREV SÜRESİ DOLDU: " + todo.getTitle();
-                body = String.format(
-                        "'%s' başlıklı görevinizin son tarihi geçti!%n%nSon Tarih: %s%n%nÖncelik: %s",
-                        todo.getTitle(),
-                        formattedDeadline,
-                        todo.getPriority()
-                );
-            } else {
-                subject = "Todo Reminder: " + todo.getTitle();
-                body = String.format(
-                        "Your task '%s' is approaching its deadline!%n%nDeadline: %s%n%nPriority: %s",
-                        todo.getTitle(),
-                        formattedDeadline,
-                        todo.getPriority()
-                );
-            }
+        int sent = sendAndMark(chunk);
+        return new ChunkResult(chunk.get(chunk.size() - 1).getId(), sent, chunk.size() == chunkSize);
+    }
 
-            EmailSendEvent event = new EmailSendEvent(
-                    todo.getUserEmail(),
-                    subject,
-                    body
-            );
+    // the emails go to the outbox in the same transaction that marks the todos, never straight to Kafka
+    private int sendAndMark(Collection<TodoRepository.ReminderRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
 
-            emailEventProducer.sendEmailEvent(event);
-            todo.setReminderSent(true);
-            todoRepository.save(todo);
+        long now = Instant.now().toEpochMilli();
+        List<EmailOutboxMessage> messages = new ArrayList<>(rows.size());
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (TodoRepository.ReminderRow todo : rows) {
+            ids.add(todo.getId());
+        }
 
-            log.debug("Reminder sent successfully for todo: {}", todo.getId());
-        } catch (Exception e) {
-            log.error("Failed to send reminder for todo: {}", todo.getId(), e);
+        if (digestEnabled) {
+            // grouped within the claimed rows; a user split across two chunks gets two digests
+            Map<String, List<TodoRepository.ReminderRow>> byUser = new LinkedHashMap<>();
+            rows.forEach(todo -> byUser.computeIfAbsent(todo.getUserEmail(), email -> new ArrayList<>()).add(todo));
+            byUser.forEach((userEmail, todos) -> messages.add(todos.size() == 1
+                    ? EmailOutboxMessage.of(dedupeKey(todos.get(0)), reminderEmailRenderer.reminder(todos.get(0), now), now)
+                    : EmailOutboxMessage.of(digestDedupeKey(userEmail, todos),
+                            reminderEmailRenderer.digest(userEmail, todos, now), now)));
+        } else {
+            rows.forEach(todo -> messages.add(
+                    EmailOutboxMessage.of(dedupeKey(todo), reminderEmailRenderer.reminder(todo, now), now)));
         }
+
+        emailOutbox.enqueue(messages);
+        todoRepository.markRemindersSent(ids);
+        return ids.size();
+    }
+
+    // a todo is reminded once per deadline, so redeliveries of the same reminder share this key
+    private static String dedupeKey(TodoRepository.ReminderRow todo) {
+        return "reminder:" + todo.getId() + ":" + todo.getDeadline();
+    }
+
+    private static String digestDedupeKey(String userEmail, List<TodoRepository.ReminderRow> todos) {
+        long firstId = todos.stream().mapToLong(TodoRepository.ReminderRow::getId).min().orElseThrow();
+        long lastId = todos.stream().mapToLong(TodoRepository.ReminderRow::getId).max().orElseThrow();
+        return "digest:" + userEmail + ":" + firstId + "-" + lastId + ":" + todos.size();
+    }
+
+    private record ChunkResult(Long lastId, int sent, boolean full) {
     }
 }
\ No newline at end of file
@@ -1,15 +1,23 @@
 package com.example.todoapp.service;
 
+import com.example.todoapp.dto.CursorPageResponse;
+import com.example.todoapp.dto.SliceResponse;
+import com.example.todoapp.dto.TodoBatchResult;
+import com.example.todoapp.dto.TodoBatchUpdateRequest;
 import com.example.todoapp.dto.TodoCreateRequest;
+import com.example.todoapp.dto.TodoListQuery;
 import com.example.todoapp.dto.TodoResponse;
 import com.example.todoapp.dto.TodoUpdateRequest;
 import com.example.todoapp.enums.Priority;
+import com.example.todoapp.enums.TagMatch;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface TodoService {
 
     TodoResponse createTodo(
@@ -39,6 +47,13 @@ public interface TodoService {
             String userEmail
     );
 
+    // a Page, or a CursorPageResponse for paging=cursor
+    Object getTodos(
+            @NotNull(message = "Liste sorgusu null olamaz") TodoListQuery query,
+            String userEmail,
+            Pageable pageable
+    );
+
     Page<TodoResponse> getAllTodos(
             Boolean completed,
             Priority priority,
@@ -47,4 +62,57 @@ public interface TodoService {
             String userEmail,
             Pageable pageable
     );
+
+    Page<TodoResponse> getAllTodosByTags(
+            Boolean completed,
+            Priority priority,
+            @NotNull(message = "Etiket listesi null olamaz") List<String> tags,
+            @NotNull(message = "Eşleşme tipi null olamaz") TagMatch match,
+            Boolean overdue,
+            String userEmail,
+            Pageable pageable
+    );
+
+    SliceResponse<TodoResponse> getAllTodosSlice(
+            Boolean completed,
+            Priority priority,
+            String tag,
+            Boolean overdue,
+            String userEmail,
+            Pageable pageable
+    );
+
+    Page<TodoResponse> getAllTodosWithEstimatedTotal(
+            Boolean completed,
+            Priority priority,
+            String tag,
+            Boolean overdue,
+            String userEmail,
+            Pageable pageable
+    );
+
+    CursorPageResponse<TodoResponse> getAllTodosAfter(
+            Boolean completed,
+            Priority priority,
+            String tag,
+            Boolean overdue,
+            String after,
+            String userEmail,
+            Pageable pageable
+    );
+
+    List<TodoBatchResult> createTodos(
+            @NotNull(message = "Create request listesi null olamaz") List<TodoCreateRequest> createRequests,
+            String userEmail
+    );
+
+    List<TodoBatchResult> updateTodos(
+            @NotNull(message = "Update request listesi null olamaz") List<TodoBatchUpdateRequest> updateRequests,
+            String userEmail
+    );
+
+    List<TodoBatchResult> deleteTodos(
+            @NotNull(message = "ID listesi null olamaz") List<Long> ids,
+            String userEmail
+    );
 }
\ No newline at end of file
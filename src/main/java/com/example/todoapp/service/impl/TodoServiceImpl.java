@@ -1,27 +1,58 @@
 package com.example.todoapp.service.impl;
 
+import com.example.todoapp.cache.TodoCacheWriter;
+import com.example.todoapp.cache.TodoCountCache;
+import com.example.todoapp.cache.TodoListCache;
+import com.example.todoapp.cache.TodoTagIndex;
+import com.example.todoapp.dto.CursorPageResponse;
+import com.example.todoapp.dto.SliceResponse;
+import com.example.todoapp.dto.TodoBatchResult;
+import com.example.todoapp.dto.TodoBatchUpdateRequest;
 import com.example.todoapp.dto.TodoCreateRequest;
+import com.example.todoapp.dto.TodoListQuery;
 import com.example.todoapp.dto.TodoResponse;
 import com.example.todoapp.dto.TodoUpdateRequest;
 import com.example.todoapp.enums.Priority;
+import com.example.todoapp.enums.TagMatch;
+import com.example.todoapp.event.TodoChangedEvent;
 import com.example.todoapp.exception.ResourceNotFoundException;
 import com.example.todoapp.mapper.TodoMapper;
 import com.example.todoapp.model.Todo;
+import com.example.todoapp.pagination.TodoCursor;
+import com.example.todoapp.repository.TodoFilter;
 import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoRepositoryCustom;
+import com.example.todoapp.service.RequestValidation;
 import com.example.todoapp.service.TodoService;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,8 +60,19 @@ import java.util.List;
 public class TodoServiceImpl implements TodoService {
 
     private static final String TODO_NOT_FOUND_MESSAGE = "Todo not found with id: ";
+    private static final String CURSOR_SORT_PROPERTY = "createdAt";
+    private static final String BATCH_NOT_APPLIED_MESSAGE = "Batch içindeki başka bir öğe hatalı olduğu için uygulanmadı";
     private final TodoRepository todoRepository;
     private final TodoMapper todoMapper;
+    private final TodoCacheWriter todoCacheWriter;
+    private final TodoCountCache todoCountCache;
+    private final TodoListCache todoListCache;
+    private final TodoTagIndex todoTagIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    @Value("${todo.batch.max-size:500}")
+    private int maxBatchSize;
 
     @Override
     public TodoResponse createTodo(TodoCreateRequest createRequest, String userEmail) {
@@ -39,11 +81,14 @@ public class TodoServiceImpl implements TodoService {
         todo.setUserEmail(userEmail);
 
         Todo savedTodo = todoRepository.save(todo);
-        return todoMapper.toResponse(savedTodo);
+        TodoResponse response = todoMapper.toResponse(savedTodo);
+
+        eventPublisher.publishEvent(TodoChangedEvent.of(userEmail, null, response));
+        return response;
     }
 
     @Override
-    @Cacheable(value = "todos", key = "#id")
+    @Cacheable(value = "todos", key = "#userEmail + ':' + #id")
     public TodoResponse getTodoById(Long id, String userEmail) {
         Todo todo = todoRepository.findByIdAndUserEmail(id, userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException(TODO_NOT_FOUND_MESSAGE + id));
@@ -52,61 +97,382 @@ public class TodoServiceImpl implements TodoService {
     }
 
     @Override
-    @CachePut(value = "todos", key = "#id")
+    @CachePut(value = "todos", key = "#userEmail + ':' + #id")
     public TodoResponse updateTodo(Long id, TodoUpdateRequest updateRequest, String userEmail) {
         Todo existingTodo = todoRepository.findByIdAndUserEmail(id, userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException(TODO_NOT_FOUND_MESSAGE + id));
 
+        TodoResponse before = todoMapper.toResponse(existingTodo);
         todoMapper.updateEntity(updateRequest, existingTodo);
         Todo updatedTodo = todoRepository.save(existingTodo);
+        TodoResponse response = todoMapper.toResponse(updatedTodo);
 
-        return todoMapper.toResponse(updatedTodo);
+        eventPublisher.publishEvent(TodoChangedEvent.of(userEmail, before, response));
+        return response;
     }
 
     @Override
-    @CacheEvict(value = "todos", key = "#id")
+    @CacheEvict(value = "todos", key = "#userEmail + ':' + #id")
+    @Transactional // keeps the loaded entity managed, so delete() does not select it again
     public void deleteTodo(Long id, String userEmail) {
-        if (!todoRepository.existsByIdAndUserEmail(id, userEmail)) {
-            throw new ResourceNotFoundException(TODO_NOT_FOUND_MESSAGE + id);
-        }
+        Todo existingTodo = todoRepository.findByIdAndUserEmail(id, userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException(TODO_NOT_FOUND_MESSAGE + id));
+
+        TodoResponse before = todoMapper.toResponse(existingTodo);
+        todoRepository.delete(existingTodo);
 
-        todoRepository.deleteById(id);
+        eventPublisher.publishEvent(TodoChangedEvent.of(userEmail, before, null));
     }
 
     @Override
-    @CachePut(value = "todos", key = "#id")
+    @CachePut(value = "todos", key = "#userEmail + ':' + #id")
     public TodoResponse updateTodoCompletion(Long id, boolean isCompleted, String userEmail) {
         Todo existingTodo = todoRepository.findByIdAndUserEmail(id, userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException(TODO_NOT_FOUND_MESSAGE + id));
 
+        TodoResponse before = todoMapper.toResponse(existingTodo);
         existingTodo.setCompleted(isCompleted);
         Todo updatedTodo = todoRepository.save(existingTodo);
+        TodoResponse response = todoMapper.toResponse(updatedTodo);
 
-        return todoMapper.toResponse(updatedTodo);
+        eventPublisher.publishEvent(TodoChangedEvent.of(userEmail, before, response));
+        return response;
+    }
+
+    @Override
+    public Object getTodos(TodoListQuery query, String userEmail, Pageable pageable) {
+        if (query.tagIndexLookup()) {
+            return getAllTodosByTags(query.completed(), query.priority(), query.tags(),
+                    query.match() != null ? query.match() : TagMatch.ALL, query.overdue(), userEmail, pageable);
+        }
+        if (query.cursorPaging()) {
+            return getAllTodosAfter(query.completed(), query.priority(), query.tag(), query.overdue(), query.after(),
+                    userEmail, pageable);
+        }
+        return switch (query.countMode()) {
+            case EXACT -> getAllTodos(query.completed(), query.priority(), query.tag(), query.overdue(),
+                    userEmail, pageable);
+            case ESTIMATE -> getAllTodosWithEstimatedTotal(query.completed(), query.priority(), query.tag(),
+                    query.overdue(), userEmail, pageable);
+            case NONE -> getAllTodosSlice(query.completed(), query.priority(), query.tag(), query.overdue(),
+                    userEmail, pageable);
+        };
     }
 
     @Override
     public Page<TodoResponse> getAllTodos(Boolean completed, Priority priority,
                                           String tag, Boolean overdue, String userEmail, Pageable pageable) {
 
-        long now = Instant.now().toEpochMilli();
+        TodoFilter filter = TodoFilter.of(completed, priority, tag, overdue, userEmail);
+
+        return todoListCache.getPage(filter, pageable, () -> findPage(filter, pageable));
+    }
+
+    private Page<TodoResponse> findPage(TodoFilter filter, Pageable pageable) {
+        // rows, tags and the total (COUNT(*) OVER ()) come back in a single statement
+        TodoRepositoryCustom.ResultPage result = todoRepository.findTodoResponses(
+                filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize(), true
+        );
+
+        long total;
+        if (result.total() != null) {
+            total = result.total();
+        } else {
+            total = pageable.getOffset() == 0 ? 0 : todoRepository.countTodos(filter); // page past the end
+        }
+
+        return new PageImpl<>(result.content(), pageable, total);
+    }
+
+    @Override
+    public Page<TodoResponse> getAllTodosByTags(Boolean completed, Priority priority, List<String> tags,
+                                                TagMatch match, Boolean overdue, String userEmail, Pageable pageable) {
+
+        TodoFilter filter = TodoFilter.of(completed, priority, null, overdue, userEmail);
+        List<String> wantedTags = tags.stream()
+                .map(String::trim)
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .toList();
+
+        // the bitmap is the exact match set, so its cardinality is the total and no count query runs
+        Roaring64NavigableMap matching = todoTagIndex.match(
+                userEmail, wantedTags, match, completed, priority, overdue, filter.now()
+        );
+        long total = matching.getLongCardinality();
+
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(Collections.emptyList(), pageable, total);
+        }
+
+        List<TodoResponse> content;
+        Sort.Order idOrder = idOnlyOrder(pageable.getSort());
+        if (idOrder != null) {
+            // bitmaps keep ids sorted: pick the page by rank and fetch only those rows
+            int pageSize = (int) Math.min(pageable.getPageSize(), total - pageable.getOffset());
+            long[] pageIds = new long[pageSize];
+            for (int i = 0; i < pageSize; i++) {
+                long rank = pageable.getOffset() + i;
+                pageIds[i] = matching.select(idOrder.isAscending() ? rank : total - 1 - rank);
+            }
+            content = todoRepository.findTodoResponsesByIds(filter, pageIds, pageable.getSort(), 0, pageSize);
+        } else {
+            content = todoRepository.findTodoResponsesByIds(
+                    filter, matching.toArray(), pageable.getSort(), pageable.getOffset(), pageable.getPageSize()
+            );
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private Sort.Order idOnlyOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.asc("id");
+        }
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && "id".equals(orders.get(0).getProperty()) ? orders.get(0) : null;
+    }
 
-        Page<Long> todoIdsPage = todoRepository.findTodoIds(
-                completed, priority, tag, overdue, userEmail, now, pageable
+    @Override
+    public SliceResponse<TodoResponse> getAllTodosSlice(Boolean completed, Priority priority, String tag,
+                                                        Boolean overdue, String userEmail, Pageable pageable) {
+
+        TodoFilter filter = TodoFilter.of(completed, priority, tag, overdue, userEmail);
+        List<TodoResponse> rows = findWithLookahead(filter, pageable);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+
+        return new SliceResponse<>(
+                hasNext ? rows.subList(0, pageable.getPageSize()) : rows,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                hasNext
         );
+    }
+
+    @Override
+    public Page<TodoResponse> getAllTodosWithEstimatedTotal(Boolean completed, Priority priority, String tag,
+                                                            Boolean overdue, String userEmail, Pageable pageable) {
 
-        if (todoIdsPage.getContent().isEmpty()) {
-            return new PageImpl<>(Collections.emptyList(), pageable, todoIdsPage.getTotalElements());
+        TodoFilter filter = TodoFilter.of(completed, priority, tag, overdue, userEmail);
+        List<TodoResponse> rows = findWithLookahead(filter, pageable);
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<TodoResponse> todoResponses = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+
+        long seen = pageable.getOffset() + todoResponses.size();
+        long total;
+        if (!hasNext) {
+            total = seen; // last page: the total is known exactly
+        } else {
+            // filters the counters cannot follow (overdue) get an exact count instead of a wrong estimate
+            OptionalLong estimate = todoCountCache.estimate(filter);
+            total = estimate.isPresent()
+                    ? Math.max(estimate.getAsLong(), seen + 1)
+                    : todoRepository.countTodos(filter);
         }
-        List<Todo> todos = todoRepository.findByIdsWithTags(todoIdsPage.getContent());
 
+        return new PageImpl<>(todoResponses, pageable, total);
+    }
 
-        List<TodoResponse> todoResponses = todoMapper.toResponseList(todos);
+    // one extra row tells us whether a next page exists, so no count is needed
+    private List<TodoResponse> findWithLookahead(TodoFilter filter, Pageable pageable) {
+        return todoRepository.findTodoResponses(
+                filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1, false
+        ).content();
+    }
 
-        return new PageImpl<>(
-                todoResponses,
-                pageable,
-                todoIdsPage.getTotalElements()
+    @Override
+    public CursorPageResponse<TodoResponse> getAllTodosAfter(Boolean completed, Priority priority, String tag,
+                                                             Boolean overdue, String after, String userEmail,
+                                                             Pageable pageable) {
+
+        TodoCursor cursor = (after == null || after.isBlank())
+                ? TodoCursor.first(resolveCursorDirection(pageable.getSort()))
+                : TodoCursor.decode(after);
+
+        int size = pageable.getPageSize();
+        List<TodoResponse> rows = todoRepository.findTodoResponsesAfter(
+                TodoFilter.of(completed, priority, tag, overdue, userEmail), cursor, size + 1
         );
+
+        boolean hasNext = rows.size() > size;
+        List<TodoResponse> todoResponses = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext
+                ? TodoCursor.after(todoResponses.get(todoResponses.size() - 1), cursor.direction()).encode()
+                : null;
+
+        return new CursorPageResponse<>(todoResponses, size, hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional
+    public List<TodoBatchResult> createTodos(List<TodoCreateRequest> createRequests, String userEmail) {
+        checkBatchSize(createRequests);
+
+        TodoBatchResult[] results = new TodoBatchResult[createRequests.size()];
+        for (int i = 0; i < createRequests.size(); i++) {
+            String error = validate(createRequests.get(i));
+            if (error != null) {
+                results[i] = TodoBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, error);
+            }
+        }
+        if (hasFailures(results)) {
+            return notApplied(results, i -> null);
+        }
+
+        List<Todo> todosToSave = new ArrayList<>(createRequests.size());
+        for (TodoCreateRequest createRequest : createRequests) {
+            Todo todo = todoMapper.toEntity(createRequest);
+            todo.setUserEmail(userEmail);
+            todosToSave.add(todo);
+        }
+
+        // ids come from the pooled sequence, the INSERTs themselves are flushed in JDBC batches on commit
+        List<TodoResponse> savedResponses = todoMapper.toResponseList(todoRepository.saveAll(todosToSave));
+
+        for (int i = 0; i < savedResponses.size(); i++) {
+            results[i] = TodoBatchResult.success(i, HttpStatus.CREATED, savedResponses.get(i));
+        }
+
+        todoCacheWriter.putAll(userEmail, savedResponses);
+        eventPublisher.publishEvent(TodoChangedEvent.created(userEmail, savedResponses));
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<TodoBatchResult> updateTodos(List<TodoBatchUpdateRequest> updateRequests, String userEmail) {
+        checkBatchSize(updateRequests);
+
+        List<Long> ids = updateRequests.stream()
+                .filter(Objects::nonNull)
+                .map(TodoBatchUpdateRequest::id)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, Todo> todosById = ids.isEmpty()
+                ? Collections.emptyMap()
+                : todoRepository.findByIdsAndUserEmailWithTags(ids, userEmail).stream()
+                        .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+        TodoBatchResult[] results = new TodoBatchResult[updateRequests.size()];
+        for (int i = 0; i < updateRequests.size(); i++) {
+            TodoBatchUpdateRequest updateRequest = updateRequests.get(i);
+            String error = validate(updateRequest);
+            if (error != null) {
+                Long id = updateRequest == null ? null : updateRequest.id();
+                results[i] = TodoBatchResult.failure(i, id, HttpStatus.BAD_REQUEST, error);
+            } else if (!todosById.containsKey(updateRequest.id())) {
+                results[i] = TodoBatchResult.failure(i, updateRequest.id(), HttpStatus.NOT_FOUND,
+                        TODO_NOT_FOUND_MESSAGE + updateRequest.id());
+            }
+        }
+        if (hasFailures(results)) {
+            return notApplied(results, i -> updateRequests.get(i).id());
+        }
+
+        Map<Long, TodoResponse> updatedResponses = new LinkedHashMap<>();
+        Map<Long, TodoResponse> originalResponses = new LinkedHashMap<>();
+
+        for (int i = 0; i < updateRequests.size(); i++) {
+            TodoBatchUpdateRequest updateRequest = updateRequests.get(i);
+            Todo existingTodo = todosById.get(updateRequest.id());
+
+            originalResponses.computeIfAbsent(existingTodo.getId(), id -> todoMapper.toResponse(existingTodo));
+
+            // dirty checking turns these into batched UPDATEs on commit
+            todoMapper.updateEntity(updateRequest.changes(), existingTodo);
+            TodoResponse response = todoMapper.toResponse(existingTodo);
+            updatedResponses.put(response.id(), response);
+            results[i] = TodoBatchResult.success(i, HttpStatus.OK, response);
+        }
+
+        todoCacheWriter.putAll(userEmail, updatedResponses.values());
+        eventPublisher.publishEvent(new TodoChangedEvent(userEmail, updatedResponses.values().stream()
+                .map(response -> new TodoChangedEvent.Change(originalResponses.get(response.id()), response))
+                .toList()));
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<TodoBatchResult> deleteTodos(List<Long> ids, String userEmail) {
+        checkBatchSize(ids);
+
+        List<Long> requestedIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        List<TodoResponse> deletedResponses = requestedIds.isEmpty()
+                ? Collections.emptyList()
+                : todoMapper.toResponseList(todoRepository.findByIdsAndUserEmailWithTags(requestedIds, userEmail));
+
+        Set<Long> ownedIds = deletedResponses.stream()
+                .map(TodoResponse::id)
+                .collect(Collectors.toSet());
+
+        TodoBatchResult[] results = new TodoBatchResult[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results[i] = TodoBatchResult.failure(i, null, HttpStatus.BAD_REQUEST, "ID null olamaz");
+            } else if (!ownedIds.contains(id)) {
+                results[i] = TodoBatchResult.failure(i, id, HttpStatus.NOT_FOUND, TODO_NOT_FOUND_MESSAGE + id);
+            }
+        }
+        if (hasFailures(results)) {
+            return notApplied(results, ids::get);
+        }
+
+        if (!ownedIds.isEmpty()) {
+            todoRepository.deleteTagsByTodoIds(ownedIds);
+            todoRepository.deleteAllByIdInBatch(ownedIds);
+        }
+
+        for (int i = 0; i < ids.size(); i++) {
+            results[i] = TodoBatchResult.success(i, HttpStatus.NO_CONTENT, ids.get(i));
+        }
+
+        todoCacheWriter.evictAll(userEmail, ownedIds);
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(userEmail, deletedResponses));
+        return Arrays.asList(results);
+    }
+
+    private static boolean hasFailures(TodoBatchResult[] results) {
+        return Arrays.stream(results).anyMatch(Objects::nonNull);
+    }
+
+    // a batch is all or nothing: once one item fails, nothing is written and the rest are reported as not applied
+    private static List<TodoBatchResult> notApplied(TodoBatchResult[] results, IntFunction<Long> idAt) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = TodoBatchResult.failure(i, idAt.apply(i), HttpStatus.FAILED_DEPENDENCY, BATCH_NOT_APPLIED_MESSAGE);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + items.size() + " exceeds the limit of " + maxBatchSize);
+        }
+    }
+
+    private String validate(Object request) {
+        return RequestValidation.violations(validator, request);
+    }
+
+    private Sort.Direction resolveCursorDirection(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Direction.DESC;
+        }
+
+        Sort.Order order = sort.iterator().next();
+        if (!CURSOR_SORT_PROPERTY.equals(order.getProperty()) || sort.stream().count() > 1) {
+            throw new IllegalArgumentException("Cursor pagination only supports sorting by " + CURSOR_SORT_PROPERTY);
+        }
+        return order.getDirection();
     }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.todoapp.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the SQL work of each request per endpoint: {@code todo.sql.statements},
+ * {@code todo.sql.rows} and {@code todo.sql.time}, tagged with the method and URI pattern.
+ * Requests issuing more than {@code todo.sql.statement-budget} statements are logged and counted
+ * in {@code todo.sql.budget.exceeded}; with {@code todo.sql.strict=true} they fail instead.
+ */
+@Component
+@Slf4j
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${todo.sql.statement-budget:20}")
+    private int statementBudget;
+
+    @Value("${todo.sql.strict:false}")
+    private boolean strict;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        QueryStats.begin(statementBudget, strict);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            record(request, QueryStats.end());
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        if (stats.statements() == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? "UNKNOWN" : pattern.toString());
+
+        DistributionSummary.builder("todo.sql.statements")
+                .description("SQL statements issued per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder("todo.sql.rows")
+                .description("Rows written per request, plus rows read when todo.sql.count-read-rows is on")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.rows());
+        Timer.builder("todo.sql.time")
+                .description("Time spent executing SQL per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.overBudget()) {
+            Counter.builder("todo.sql.budget.exceeded")
+                    .description("Requests that issued more SQL statements than the budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} issued {} SQL statements (budget {}), possible N+1",
+                    request.getMethod(), request.getRequestURI(), stats.statements(), stats.statementBudget());
+        }
+    }
+}
\ No newline at end of file
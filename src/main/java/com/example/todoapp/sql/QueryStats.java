@@ -0,0 +1,84 @@
+package com.example.todoapp.sql;
+
+/**
+ * SQL statements, rows and database time of one unit of work (a request, or a block in a test),
+ * collected on the thread that runs it. Statements run on other threads, or outside
+ * {@link #begin}/{@link #end}, are not counted.
+ * <p>
+ * In strict mode the statement that goes over the budget fails with
+ * {@link StatementBudgetExceededException}, so a test can catch an N+1 where it happens.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statementBudget;
+    private final boolean strict;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private QueryStats(int statementBudget, boolean strict) {
+        this.statementBudget = statementBudget;
+        this.strict = strict;
+    }
+
+    // a budget of 0 means unlimited
+    public static QueryStats begin(int statementBudget, boolean strict) {
+        QueryStats stats = new QueryStats(statementBudget, strict);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats end() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    // for work whose statement count grows with its input by design, such as a bulk import
+    public static void liftBudget() {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementBudget = 0;
+        }
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(long elapsedNanos, long affectedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += affectedRows;
+        if (strict && overBudget()) {
+            throw new StatementBudgetExceededException(statements, statementBudget);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public boolean overBudget() {
+        return statementBudget > 0 && statements > statementBudget;
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    // rows reported by updates, plus rows read through result sets when todo.sql.count-read-rows is on
+    public long rows() {
+        return rows;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    public int statementBudget() {
+        return statementBudget;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.example.todoapp.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// wraps every DataSource in a datasource-proxy that reports to QueryStats; costs nothing measurable outside a QueryStats scope.
+// Counting the rows read means proxying every ResultSet and intercepting each of its calls, so that part is only
+// switched on with todo.sql.count-read-rows (by default together with strict mode, i.e. in tests)
+@Component
+public class QueryStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final QueryStatsListener listener = new QueryStatsListener();
+    private final boolean countReadRows;
+
+    // read from the Environment: a BeanPostProcessor is created before @Value placeholders can be resolved
+    public QueryStatsDataSourcePostProcessor(Environment environment) {
+        this.countReadRows = environment.getProperty("todo.sql.count-read-rows", Boolean.class,
+                environment.getProperty("todo.sql.strict", Boolean.class, false));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(listener);
+        if (countReadRows) {
+            builder.methodListener(listener).proxyResultSet();
+        }
+        return builder.build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.todoapp.sql;
+
+public class StatementBudgetExceededException extends RuntimeException {
+
+    public StatementBudgetExceededException(int statements, int budget) {
+        super("SQL statement budget exceeded: " + statements + " statements, budget is " + budget
+                + " (possible N+1 query)");
+    }
+}
\ No newline at end of file
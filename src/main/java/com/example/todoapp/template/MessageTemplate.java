@@ -0,0 +1,60 @@
+package com.example.todoapp.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text with named {@code {placeholders}}, split once into literal and argument segments, so a
+ * render is only appends into a StringBuilder. Arguments are passed positionally, in the order
+ * of the names given to {@link #compile}.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;
+    private final int[] argumentIndexes;
+
+    private MessageTemplate(String[] literals, int[] argumentIndexes) {
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+    }
+
+    public static MessageTemplate compile(String pattern, String... names) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argumentIndexes = new ArrayList<>();
+
+        int position = 0;
+        while (true) {
+            int open = pattern.indexOf('{', position);
+            if (open < 0) {
+                break;
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template: " + pattern);
+            }
+            int index = List.of(names).indexOf(pattern.substring(open + 1, close));
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown placeholder " + pattern.substring(open, close + 1)
+                        + " in template: " + pattern);
+            }
+            literals.add(pattern.substring(position, open));
+            argumentIndexes.add(index);
+            position = close + 1;
+        }
+        literals.add(pattern.substring(position));
+
+        return new MessageTemplate(literals.toArray(String[]::new),
+                argumentIndexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public StringBuilder renderTo(StringBuilder target, Object... arguments) {
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            target.append(literals[i]).append(arguments[argumentIndexes[i]]);
+        }
+        return target.append(literals[literals.length - 1]);
+    }
+
+    public String render(Object... arguments) {
+        return renderTo(new StringBuilder(), arguments).toString();
+    }
+}
\ No newline at end of file
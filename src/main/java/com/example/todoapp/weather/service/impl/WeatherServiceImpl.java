@@ -1,35 +1,116 @@
 package com.example.todoapp.weather.service.impl;
 
-import com.example.todoapp.client.WeatherApiClient;
+import com.example.todoapp.client.ResilientWeatherClient;
+import com.example.todoapp.weather.dto.CurrentWeather;
 import com.example.todoapp.weather.dto.WeatherResponse;
 import com.example.todoapp.weather.service.WeatherService;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Weather per city is cached under a normalized key ("İstanbul ", "istanbul" and "ISTANBUL" share
+ * one entry). The key is only for the cache: upstream is asked with the name as typed, stripped and in
+ * NFC, by whichever request created the entry. Concurrent misses for a city wait on a single upstream call. After
+ * {@code weather.cache.refresh-after-seconds} the cached value is still served while one background
+ * call refreshes it; after {@code weather.cache.expire-after-seconds} it is no longer served.
+ * Failed or empty lookups are not cached, and a failed refresh keeps the previous value.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class WeatherServiceImpl implements WeatherService {
 
-    private final WeatherApiClient weatherApiClient;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ResilientWeatherClient weatherApiClient;
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LoadingCache<CityKey, CurrentWeather> weatherByCity;
 
     @Value("${weather.api.key}")
     private String apiKey;
 
+    public WeatherServiceImpl(ResilientWeatherClient weatherApiClient,
+                              @Value("${weather.cache.max-size:10000}") long maxSize,
+                              @Value("${weather.cache.refresh-after-seconds:300}") long refreshAfterSeconds,
+                              @Value("${weather.cache.expire-after-seconds:1800}") long expireAfterSeconds) {
+        this.weatherApiClient = weatherApiClient;
+        this.weatherByCity = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(Duration.ofSeconds(refreshAfterSeconds))
+                .expireAfterWrite(Duration.ofSeconds(expireAfterSeconds))
+                .executor(refreshExecutor) // refreshes block on HTTP, keep them off the common pool
+                .build(this::fetch);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
     @Override
     public String getTemperatureForCity(String city) {
         try {
-            WeatherResponse response = weatherApiClient.getCurrentWeather(apiKey, city);
+            CurrentWeather current = weatherByCity.get(CityKey.of(city));
 
-            if (response != null && response.current() != null) {
-                double temp = response.current().temp_c();
-                double feels_like = response.current().feelslike_c();
-                int humidity = response.current().humidity();
+            if (current != null) {
+                double temp = current.temp_c();
+                double feels_like = current.feelslike_c();
+                int humidity = current.humidity();
                 return city + " için şu anki sıcaklık: " + temp + "°C and feels like: " + feels_like + "and humidity is: "+ humidity;
             }
             return city + " için hava durumu bilgisi alınamadı.";
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            // rejected without an upstream call: the circuit is open or too many calls are in flight
+            return city + " için hava durumu servisi şu anda kullanılamıyor, lütfen daha sonra tekrar deneyin.";
         } catch (Exception e) {
             return city + " için hava durumu alınırken bir hata oluştu: " + e.getMessage();
         }
     }
+
+    // returning null leaves the city uncached, so the next request asks upstream again
+    private CurrentWeather fetch(CityKey city) {
+        log.debug("Fetching weather for {}", city.name());
+        WeatherResponse response = weatherApiClient.getCurrentWeather(apiKey, city.name());
+        return response == null ? null : response.current();
+    }
+
+    // equal by the normalized form alone, so every spelling finds the entry; the name is what upstream is asked for
+    private record CityKey(String normalized, String name) {
+
+        static CityKey of(String city) {
+            return new CityKey(normalize(city), Normalizer.normalize(city.strip(), Normalizer.Form.NFC));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof CityKey key && normalized.equals(key.normalized);
+        }
+
+        @Override
+        public int hashCode() {
+            return normalized.hashCode();
+        }
+    }
+
+    static String normalize(String city) {
+        String decomposed = Normalizer.normalize(city.strip(), Normalizer.Form.NFKD);
+        String withoutMarks = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        // the Turkish dotless ı has no decomposition, fold it explicitly
+        return WHITESPACE.matcher(withoutMarks).replaceAll(" ")
+                .toLowerCase(Locale.ROOT)
+                .replace('ı', 'i');
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+-- Baseline: the schema Hibernate used to generate for model/Todo.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+CREATE TABLE IF NOT EXISTS todos (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title         VARCHAR(100) NOT NULL,
+    description   VARCHAR(255),
+    completed     BOOLEAN      NOT NULL,
+    reminder_sent BOOLEAN      NOT NULL,
+    created_at    BIGINT       NOT NULL,
+    deadline      BIGINT,
+    priority      VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    user_email    VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS todo_tags (
+    todo_id BIGINT NOT NULL REFERENCES todos (id),
+    tag     VARCHAR(255)
+);
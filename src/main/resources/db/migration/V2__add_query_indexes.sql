@@ -0,0 +1,22 @@
+-- CONCURRENTLY keeps the table writable while the indexes build on large installations;
+-- Flyway runs these statements outside a transaction.
+
+-- findTodoIds: every list query is scoped to one user, then completion state and deadline
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_completed_deadline
+    ON todos (user_email, completed, deadline);
+
+-- cursor pagination seeks on (created_at, id) within one user
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_created_at_id
+    ON todos (user_email, created_at, id);
+
+-- tag filter probes by tag; tags of a todo are loaded and deleted by todo_id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tags_tag_todo_id
+    ON todo_tags (tag, todo_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todo_tags_todo_id
+    ON todo_tags (todo_id);
+
+-- reminder scan only looks at pending rows, a small slice of the table
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_pending_reminders
+    ON todos (deadline)
+    WHERE deadline IS NOT NULL AND completed = FALSE AND reminder_sent = FALSE;
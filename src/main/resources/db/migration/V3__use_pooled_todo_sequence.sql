@@ -0,0 +1,9 @@
+-- IDENTITY ids make Hibernate insert rows one by one to read back each id, which disables
+-- JDBC batching. A sequence incremented by 50 lets Hibernate's pooled optimizer hand out ids
+-- in blocks that match hibernate.jdbc.batch_size.
+ALTER TABLE todos ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS todos_seq INCREMENT BY 50;
+
+-- the pooled optimizer treats a fetched value N as the block (N - 49 .. N)
+SELECT setval('todos_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM todos), false);
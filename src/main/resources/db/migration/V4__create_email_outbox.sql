@@ -0,0 +1,13 @@
+-- Reminder emails are written here in the same transaction that sets todos.reminder_sent and
+-- relayed to Kafka afterwards, so the reminder scan never waits on the broker and an email is
+-- neither lost nor silently dropped when Kafka is down. Relayed rows are deleted.
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id         BIGINT       PRIMARY KEY,
+    dedupe_key VARCHAR(255) NOT NULL,
+    to_email   VARCHAR(255) NOT NULL,
+    subject    VARCHAR(255) NOT NULL,
+    body       TEXT         NOT NULL,
+    created_at BIGINT       NOT NULL
+);
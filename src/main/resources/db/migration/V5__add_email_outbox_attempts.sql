@@ -0,0 +1,2 @@
+-- failed relays are retried up to email.outbox.max-attempts times before going to the dead-letter topic
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS attempts INT NOT NULL DEFAULT 0;
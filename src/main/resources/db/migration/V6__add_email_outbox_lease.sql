@@ -0,0 +1,3 @@
+-- the relay commits its claim before sending, so a claimed row is leased until this time instead of
+-- staying locked; rows whose lease ran out (a relay that crashed mid-send) are claimed again
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS claimed_until BIGINT;
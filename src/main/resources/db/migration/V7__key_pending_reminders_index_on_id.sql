@@ -0,0 +1,8 @@
+-- every reminder query walks the pending rows in id order (id > :afterId ORDER BY id LIMIT n), so the
+-- partial index is keyed on id: a claim reads its chunk straight off the index and stops after n rows,
+-- instead of collecting every due row by deadline and sorting them
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_pending_reminders_id
+    ON todos (id)
+    WHERE deadline IS NOT NULL AND completed = FALSE AND reminder_sent = FALSE;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_todos_pending_reminders;
@@ -0,0 +1,60 @@
+package com.example.todoapp.aop;
+
+import com.example.todoapp.annotation.TrackExecutionTime;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionTimeAspectTest {
+
+    @TrackExecutionTime
+    public static class TrackedHandler {
+
+        public String handle() {
+            return "ok";
+        }
+
+        public String fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TrackedHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TrackedHandler());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ExecutionTimeAspect(meterRegistry, List.of(50L, 100L), 0));
+        handler = factory.getProxy();
+    }
+
+    @Test
+    void recordExecutionTime_whenCallSucceeds_shouldRecordSuccessTimer() {
+        assertThat(handler.handle()).isEqualTo("ok");
+        handler.handle();
+
+        Timer timer = meterRegistry.get("todo.method.execution")
+                .tags("class", "TrackedHandler", "method", "handle", "outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    void recordExecutionTime_whenCallThrows_shouldRecordErrorTimerAndRethrow() {
+        assertThatThrownBy(() -> handler.fail()).isInstanceOf(IllegalStateException.class);
+
+        Timer timer = meterRegistry.get("todo.method.execution")
+                .tags("method", "fail", "outcome", "error")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoFilter;
+import com.example.todoapp.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoCountCacheTest {
+
+    private static final String USER = "user@example.com";
+    private static final String KEY = "todo:counts:" + USER;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private TodoCountCache countCache;
+
+    @BeforeEach
+    void setUp() {
+        countCache = new TodoCountCache(redisTemplate, todoRepository);
+        ReflectionTestUtils.setField(countCache, "ttlMinutes", 60L);
+        lenient().when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    void estimate_shouldTakeTheSmallestMatchingCounter() {
+        cached(Map.of("total", "100", "completed", "40", "HIGH", "30", "tag:work", "12"));
+
+        assertThat(countCache.estimate(filter(null, null, null, null))).hasValue(100);
+        assertThat(countCache.estimate(filter(false, null, null, null))).hasValue(60);
+        assertThat(countCache.estimate(filter(true, Priority.HIGH, null, null))).hasValue(30);
+        assertThat(countCache.estimate(filter(null, Priority.HIGH, "work", null))).hasValue(12);
+    }
+
+    @Test
+    void estimate_whenTagHasNoCounter_shouldBeZero() {
+        cached(Map.of("total", "100", "completed", "40", "tag:work", "12"));
+
+        assertThat(countCache.estimate(filter(null, null, "home", null))).hasValue(0);
+    }
+
+    @Test
+    void estimate_whenOverdueIsFiltered_shouldBeEmpty() {
+        assertThat(countCache.estimate(filter(null, null, null, true))).isEmpty();
+        assertThat(countCache.estimate(filter(false, null, "work", false))).isEmpty();
+
+        verifyNoInteractions(redisTemplate, todoRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void estimate_whenHashIsMissing_shouldSeedStatusAndTagCounters() {
+        List<TodoRepository.StatusCount> statusCounts = List.of(
+                statusCount(false, Priority.LOW, 5),
+                statusCount(true, Priority.LOW, 3)
+        );
+        List<TodoRepository.TagCount> tagCounts = List.of(tagCount("work", 4));
+        when(hashOperations.entries(KEY)).thenReturn(Map.of());
+        when(todoRepository.countByStatus(USER)).thenReturn(statusCounts);
+        when(todoRepository.countByTag(USER)).thenReturn(tagCounts);
+
+        OptionalLong estimate = countCache.estimate(filter(null, Priority.LOW, "work", null));
+
+        assertThat(estimate).hasValue(4);
+        ArgumentCaptor<Map<String, String>> hash = ArgumentCaptor.forClass(Map.class);
+        verify(hashOperations).putAll(eq(KEY), hash.capture());
+        assertThat(hash.getValue()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "total", "8", "completed", "3", "LOW", "8", "tag:work", "4"));
+    }
+
+    @Test
+    void estimate_whenRedisFails_shouldBeEmpty() {
+        when(hashOperations.entries(KEY)).thenThrow(new IllegalStateException("redis down"));
+
+        assertThat(countCache.estimate(filter(null, null, "work", null))).isEmpty();
+    }
+
+    @Test
+    void onTodoChanged_shouldMoveTagCountersWithTheTodo() {
+        TodoResponse before = todo(false, List.of("work", "home"));
+        TodoResponse after = todo(true, List.of("work", "work", "urgent"));
+
+        countCache.onTodoChanged(TodoChangedEvent.of(USER, before, after));
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), args.capture());
+        assertThat(pairs(args.getValue())).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "completed", "1", "tag:home", "-1", "tag:urgent", "1"));
+    }
+
+    private void cached(Map<String, String> counts) {
+        when(hashOperations.entries(KEY)).thenReturn(Map.copyOf(counts));
+    }
+
+    private static TodoFilter filter(Boolean completed, Priority priority, String tag, Boolean overdue) {
+        return TodoFilter.of(completed, priority, tag, overdue, USER);
+    }
+
+    private static TodoResponse todo(boolean completed, List<String> tags) {
+        return new TodoResponse(1L, "Todo", null, completed, 0, null, Priority.MEDIUM, tags, USER);
+    }
+
+    private static Map<Object, Object> pairs(Object[] args) {
+        assertThat(args.length % 2).isZero();
+        Map<Object, Object> pairs = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            pairs.put(args[i], args[i + 1]);
+        }
+        return pairs;
+    }
+
+    private static TodoRepository.StatusCount statusCount(boolean completed, Priority priority, long total) {
+        TodoRepository.StatusCount row = mock(TodoRepository.StatusCount.class);
+        when(row.getCompleted()).thenReturn(completed);
+        when(row.getPriority()).thenReturn(priority);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+
+    private static TodoRepository.TagCount tagCount(String tag, long total) {
+        TodoRepository.TagCount row = mock(TodoRepository.TagCount.class);
+        when(row.getTag()).thenReturn(tag);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+}
\ No newline at end of file
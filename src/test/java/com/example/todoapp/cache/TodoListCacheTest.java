@@ -0,0 +1,164 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoListCacheTest {
+
+    private static final String USER = "user@example.com";
+    private static final String OTHER_USER = "other@example.com";
+    private static final long OVERDUE_TTL_SECONDS = 30;
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final Map<String, Long> versions = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    private ConcurrentMapCacheManager cacheManager;
+    private TodoListCache listCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        listCache = new TodoListCache(redisTemplate, cacheManager, OVERDUE_TTL_SECONDS);
+        ReflectionTestUtils.setField(listCache, "versionTtlHours", 24L);
+
+        // the version scripts against a map: reads seed a missing key, bumps increment it
+        lenient().when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any())).thenAnswer(invocation -> {
+            RedisScript<?> script = invocation.getArgument(0);
+            String key = invocation.<List<String>>getArgument(1).get(0);
+            long seed = Long.parseLong(invocation.getArgument(2));
+            if (script.getScriptAsString().contains("INCR")) {
+                versions.merge(key, seed, (current, ignored) -> current + 1);
+                return 1L;
+            }
+            return versions.computeIfAbsent(key, k -> seed);
+        });
+    }
+
+    @Test
+    void getPage_whenPageIsCached_shouldNotLoadAgain() {
+        TodoFilter filter = filter(false, null);
+
+        Page<TodoResponse> first = listCache.getPage(filter, pageable, loader());
+        Page<TodoResponse> second = listCache.getPage(filter, pageable, loader());
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getContent()).isEqualTo(first.getContent());
+        assertThat(second.getTotalElements()).isEqualTo(first.getTotalElements());
+        assertThat(cachedKeys(TodoListCache.TODO_LISTS_CACHE)).singleElement().asString()
+                .startsWith(USER + ":v").contains(":c=false:", ":off=0:size=10:");
+    }
+
+    @Test
+    void getPage_whenFiltersOrPagesDiffer_shouldCacheThemSeparately() {
+        listCache.getPage(filter(false, null), pageable, loader());
+        listCache.getPage(filter(true, null), pageable, loader());
+        listCache.getPage(filter(false, null), PageRequest.of(1, 10), loader());
+        listCache.getPage(TodoFilter.of(false, null, null, null, OTHER_USER), pageable, loader());
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void onTodoChanged_shouldMakeTheUsersCachedPagesUnreachable() {
+        TodoFilter filter = filter(false, null);
+        TodoFilter otherUser = TodoFilter.of(false, null, null, null, OTHER_USER);
+        listCache.getPage(filter, pageable, loader());
+        listCache.getPage(otherUser, pageable, loader());
+        long version = versions.get("todo:list-version:" + USER);
+
+        listCache.onTodoChanged(TodoChangedEvent.of(USER, null, todo(1L)));
+        listCache.getPage(filter, pageable, loader());
+        listCache.getPage(otherUser, pageable, loader());
+
+        // only the writer's version moved, so only its page is loaded again
+        assertThat(loads).hasValue(3);
+        assertThat(versions.get("todo:list-version:" + USER)).isEqualTo(version + 1);
+    }
+
+    @Test
+    void getPage_whenOverdueIsFiltered_shouldUseTheOverdueCacheAndATimeBucket() {
+        long bucketMillis = OVERDUE_TTL_SECONDS * 1000;
+        long bucketStart = NOW - NOW % bucketMillis;
+
+        listCache.getPage(filter(null, true, bucketStart), pageable, loader());
+        listCache.getPage(filter(null, true, bucketStart + bucketMillis - 1), pageable, loader());
+        assertThat(loads).hasValue(1);
+
+        listCache.getPage(filter(null, true, bucketStart + bucketMillis), pageable, loader());
+        assertThat(loads).hasValue(2);
+
+        assertThat(cachedKeys(TodoListCache.OVERDUE_TODO_LISTS_CACHE)).hasSize(2)
+                .allSatisfy(key -> assertThat(key.toString()).contains(":o=true@"));
+        assertThat(cacheManager.getCacheNames()).doesNotContain(TodoListCache.TODO_LISTS_CACHE);
+    }
+
+    @Test
+    void getPage_whenRedisIsDown_shouldFallBackToTheLoader() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        Page<TodoResponse> page = listCache.getPage(filter(false, null), pageable, loader());
+        listCache.getPage(filter(false, null), pageable, loader());
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(loads).hasValue(2);
+    }
+
+    private Supplier<Page<TodoResponse>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return new PageImpl<>(List.of(todo(loads.get())), pageable, 25);
+        };
+    }
+
+    private Iterable<Object> cachedKeys(String cacheName) {
+        @SuppressWarnings("unchecked")
+        Map<Object, Object> store = (Map<Object, Object>) cacheManager.getCache(cacheName).getNativeCache();
+        return store.keySet();
+    }
+
+    private static TodoFilter filter(Boolean completed, Boolean overdue) {
+        return filter(completed, overdue, NOW);
+    }
+
+    private static TodoFilter filter(Boolean completed, Boolean overdue, long now) {
+        return new TodoFilter(completed, null, null, overdue, USER, now);
+    }
+
+    private static TodoResponse todo(long id) {
+        return new TodoResponse(id, "Todo " + id, null, false, 0, null, Priority.LOW, List.of(), USER);
+    }
+}
\ No newline at end of file
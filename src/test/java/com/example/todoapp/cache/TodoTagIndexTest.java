@@ -0,0 +1,179 @@
+package com.example.todoapp.cache;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.enums.TagMatch;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoIndexRow;
+import com.example.todoapp.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TodoTagIndexTest {
+
+    private static final String USER = "user@example.com";
+    private static final long NOW = 1_000L;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private TodoTagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new TodoTagIndex(todoRepository, redisTemplate, 100, 10);
+    }
+
+    @Test
+    void match_shouldBuildTheIndexOnceAndResolveTagsAndFilters() {
+        when(todoRepository.findIndexRows(USER)).thenReturn(rows());
+
+        assertThat(ids(tagIndex.match(USER, List.of("work", "urgent"), TagMatch.ALL, null, null, null, NOW)))
+                .containsExactly(1L, 3L);
+        assertThat(ids(tagIndex.match(USER, List.of("home", "urgent"), TagMatch.ANY, null, null, null, NOW)))
+                .containsExactly(1L, 2L, 3L, 4L);
+        assertThat(ids(tagIndex.match(USER, List.of("work", "missing"), TagMatch.ALL, null, null, null, NOW)))
+                .isEmpty();
+        assertThat(ids(tagIndex.match(USER, List.of("work"), TagMatch.ALL, true, null, null, NOW)))
+                .containsExactly(3L);
+        assertThat(ids(tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, Priority.HIGH, null, NOW)))
+                .containsExactly(1L);
+        assertThat(ids(tagIndex.match(USER, List.of(), TagMatch.ALL, null, null, true, NOW)))
+                .containsExactly(2L);
+        assertThat(ids(tagIndex.match(USER, List.of(), TagMatch.ALL, null, null, false, NOW)))
+                .containsExactly(1L, 3L, 4L);
+
+        verify(todoRepository, times(1)).findIndexRows(USER);
+    }
+
+    @Test
+    void match_shouldKeepIdsSortedForSelectByRank() {
+        when(todoRepository.findIndexRows(USER)).thenReturn(List.of(
+                new TodoIndexRow(40, false, Priority.LOW, null, List.of("t")),
+                new TodoIndexRow(5, false, Priority.LOW, null, List.of("t")),
+                new TodoIndexRow(5_000_000_000L, false, Priority.LOW, null, List.of("t")),
+                new TodoIndexRow(17, false, Priority.LOW, null, List.of("t"))
+        ));
+
+        Roaring64NavigableMap matching = tagIndex.match(USER, List.of("t"), TagMatch.ALL, null, null, null, NOW);
+
+        assertThat(matching.getLongCardinality()).isEqualTo(4);
+        assertThat(matching.select(0)).isEqualTo(5L);
+        assertThat(matching.select(1)).isEqualTo(17L);
+        assertThat(matching.select(2)).isEqualTo(40L);
+        assertThat(matching.select(3)).isEqualTo(5_000_000_000L);
+    }
+
+    @Test
+    void onTodoChanged_shouldUpdateACachedIndexInPlace() {
+        when(todoRepository.findIndexRows(USER)).thenReturn(rows());
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+
+        TodoResponse before = todo(1L, List.of("work", "urgent"));
+        TodoResponse after = todo(1L, List.of("home"));
+        tagIndex.onTodoChanged(TodoChangedEvent.of(USER, before, after));
+        tagIndex.onTodoChanged(TodoChangedEvent.of(USER, null, todo(9L, List.of("work"))));
+
+        assertThat(ids(tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW)))
+                .containsExactly(3L, 9L);
+        assertThat(ids(tagIndex.match(USER, List.of("home"), TagMatch.ALL, null, null, null, NOW)))
+                .containsExactly(1L, 2L);
+        verify(todoRepository, times(1)).findIndexRows(USER);
+    }
+
+    @Test
+    void match_whenAWriteLandsDuringTheRebuild_shouldNotCacheTheSnapshot() {
+        // the write commits after the rows were read, so the snapshot is already stale
+        when(todoRepository.findIndexRows(USER)).thenAnswer(invocation -> {
+            tagIndex.onTodoChanged(TodoChangedEvent.of(USER, null, todo(9L, List.of("work"))));
+            return rows();
+        }).thenReturn(rows());
+
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+
+        verify(todoRepository, times(2)).findIndexRows(USER);
+    }
+
+    @Test
+    void onTodoChanged_shouldPublishAnInvalidationForOtherNodes() {
+        tagIndex.onTodoChanged(TodoChangedEvent.of(USER, null, todo(9L, List.of("work"))));
+
+        assertThat(publishedMessage()).endsWith("\n" + TodoTagIndex.INDEX_NAME + "\n" + USER);
+    }
+
+    @Test
+    void onMessage_fromOtherNode_shouldDropTheUsersIndex() {
+        when(todoRepository.findIndexRows(USER)).thenReturn(rows());
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+
+        tagIndex.onMessage(message("other-node\n" + TodoTagIndex.INDEX_NAME + "\n" + USER), null);
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+
+        verify(todoRepository, times(2)).findIndexRows(USER);
+    }
+
+    @Test
+    void onMessage_fromSameNodeOrForAnotherCache_shouldBeIgnored() {
+        when(todoRepository.findIndexRows(USER)).thenReturn(rows());
+        tagIndex.onTodoChanged(TodoChangedEvent.of("someone@example.com", null, todo(9L, List.of())));
+        String ownMessage = publishedMessage().replace("someone@example.com", USER);
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+
+        tagIndex.onMessage(message(ownMessage), null);
+        tagIndex.onMessage(message("other-node\ntodos\n" + USER), null);
+        tagIndex.match(USER, List.of("work"), TagMatch.ALL, null, null, null, NOW);
+
+        verify(todoRepository, times(1)).findIndexRows(USER);
+    }
+
+    private static List<TodoIndexRow> rows() {
+        return List.of(
+                new TodoIndexRow(1, false, Priority.HIGH, null, List.of("work", "urgent")),
+                new TodoIndexRow(2, false, Priority.LOW, NOW - 1, List.of("home")),
+                new TodoIndexRow(3, true, Priority.LOW, NOW + 1, List.of("work", "urgent")),
+                new TodoIndexRow(4, false, Priority.MEDIUM, null, List.of("urgent"))
+        );
+    }
+
+    private static TodoResponse todo(long id, List<String> tags) {
+        return new TodoResponse(id, "Todo " + id, null, false, 0, null, Priority.MEDIUM, tags, USER);
+    }
+
+    private static List<Long> ids(Roaring64NavigableMap bitmap) {
+        return Arrays.stream(bitmap.toArray()).boxed().toList();
+    }
+
+    private String publishedMessage() {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), message.capture());
+        return message.getValue();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(TwoTierCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.example.todoapp.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    private static final String KEY = "user@example.com:1";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager remoteCacheManager;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierCacheManager cacheManager;
+    private Cache cache;
+    private Cache remote;
+
+    @BeforeEach
+    void setUp() {
+        remoteCacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new TwoTierCacheManager(remoteCacheManager, redisTemplate, meterRegistry,
+                100, Duration.ofMinutes(1));
+        cache = cacheManager.getCache("todos");
+        remote = remoteCacheManager.getCache("todos");
+    }
+
+    @Test
+    void get_whenOnlyInRemote_shouldFillLocalAndCountHitsPerTier() {
+        remote.put(KEY, "v1");
+
+        assertThat(cache.get(KEY).get()).isEqualTo("v1");
+        remote.evict(KEY);
+        assertThat(cache.get(KEY).get()).isEqualTo("v1");
+
+        assertThat(requests("l1", "miss")).isEqualTo(1);
+        assertThat(requests("l2", "hit")).isEqualTo(1);
+        assertThat(requests("l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void put_shouldWriteBothTiersAndPublishInvalidation() {
+        cache.put(KEY, "v1");
+
+        assertThat(remote.get(KEY).get()).isEqualTo("v1");
+        assertThat(publishedMessage()).endsWith("\ntodos\n" + KEY);
+    }
+
+    @Test
+    void onMessage_fromOtherNode_shouldDropLocalCopy() {
+        cache.put(KEY, "v1");
+        remote.put(KEY, "v2");
+
+        cacheManager.onMessage(message("other-node\ntodos\n" + KEY), null);
+
+        assertThat(cache.get(KEY).get()).isEqualTo("v2");
+    }
+
+    @Test
+    void onMessage_fromSameNode_shouldBeIgnored() {
+        cache.put(KEY, "v1");
+        remote.put(KEY, "v2");
+
+        cacheManager.onMessage(message(publishedMessage()), null);
+
+        assertThat(cache.get(KEY).get()).isEqualTo("v1");
+    }
+
+    @Test
+    void afterPropertiesSet_shouldApplyThePerCacheConfigurationsOfTheRedisCacheManager() throws Exception {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(60));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .withCacheConfiguration("lists", defaults.entryTtl(Duration.ofSeconds(30)))
+                .build();
+        TwoTierCacheManager manager = new TwoTierCacheManager(redisCacheManager, redisTemplate, meterRegistry,
+                100, Duration.ofMinutes(1));
+
+        manager.afterPropertiesSet();
+        manager.getCache("lists").put(KEY, "v1");
+        manager.getCache("todos").put(KEY, "v1");
+
+        ArgumentCaptor<Expiration> ttl = ArgumentCaptor.forClass(Expiration.class);
+        verify(stringCommands, times(2)).set(any(byte[].class), any(byte[].class), ttl.capture(),
+                any(RedisStringCommands.SetOption.class));
+        assertThat(ttl.getAllValues())
+                .extracting(Expiration::getExpirationTimeInMilliseconds)
+                .containsExactly(30_000L, 3_600_000L);
+    }
+
+    private String publishedMessage() {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.INVALIDATION_CHANNEL), message.capture());
+        return message.getValue();
+    }
+
+    private DefaultMessage message(String body) {
+        return new DefaultMessage(TwoTierCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.get("cache.tier.requests")
+                .tag("tier", tier)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.example.todoapp.client;
+
+import com.example.todoapp.support.WeatherClientTestConfiguration;
+import com.example.todoapp.weather.service.WeatherService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Injects upstream faults (hangs, 5xx, slow responses) through a JDK HttpServer stub and checks
+ * that weather calls give up quickly instead of holding request threads.
+ */
+@SpringBootTest(classes = WeatherClientTestConfiguration.class, properties = {
+        "spring.cloud.config.enabled=false",
+        "weather.api.key=test-key",
+        "spring.cloud.openfeign.client.config.weather-api.connect-timeout=500",
+        "spring.cloud.openfeign.client.config.weather-api.read-timeout=500",
+        "weather.circuit-breaker.sliding-window-size=4",
+        "weather.circuit-breaker.minimum-number-of-calls=4",
+        "weather.circuit-breaker.open-seconds=60",
+        "weather.bulkhead.max-concurrent-calls=2"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ResilientWeatherClientTest {
+
+    private static final HttpServer STUB = startStub();
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    // only calls for "slow-*" cities, so a hang left over from another test is not counted
+    private static final AtomicInteger SLOW_IN_FLIGHT = new AtomicInteger();
+    private static volatile int status;
+    private static volatile long latencyMs;
+
+    @Autowired
+    private ResilientWeatherClient weatherClient;
+
+    @Autowired
+    private WeatherService weatherService;
+
+    @DynamicPropertySource
+    static void weatherApi(DynamicPropertyRegistry registry) {
+        registry.add("weather.api.base-url", () -> "http://localhost:" + STUB.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        CALLS.set(0);
+        status = 200;
+        latencyMs = 0;
+    }
+
+    @Test
+    void getCurrentWeather_whenUpstreamHangs_shouldGiveUpAtReadTimeout() {
+        latencyMs = 5_000;
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> weatherClient.getCurrentWeather("test-key", "ankara"))
+                .isInstanceOf(RetryableException.class);
+
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(2_000);
+    }
+
+    @Test
+    void getCurrentWeather_whenUpstreamKeepsFailing_shouldOpenAndFailFast() {
+        status = 503;
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> weatherClient.getCurrentWeather("test-key", "ankara"))
+                    .isInstanceOf(FeignException.ServiceUnavailable.class);
+        }
+
+        assertThat(weatherClient.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> weatherClient.getCurrentWeather("test-key", "ankara"))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(weatherService.getTemperatureForCity("İzmir")).contains("kullanılamıyor");
+        assertThat(CALLS.get()).isEqualTo(4);
+    }
+
+    @Test
+    void getCurrentWeather_whenCityIsUnknown_shouldNotOpenTheCircuit() {
+        status = 400;
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> weatherClient.getCurrentWeather("test-key", "nowhere"))
+                    .isInstanceOf(FeignException.BadRequest.class);
+        }
+
+        assertThat(weatherClient.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void getCurrentWeather_whenUpstreamIsRateLimiting_shouldOpenTheCircuit() {
+        status = 429;
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> weatherClient.getCurrentWeather("test-key", "ankara"))
+                    .isInstanceOf(FeignException.TooManyRequests.class);
+        }
+
+        assertThat(weatherClient.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void getCurrentWeather_whenUpstreamTimesOutTheRequest_shouldOpenTheCircuit() {
+        status = 408;
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> weatherClient.getCurrentWeather("test-key", "ankara"))
+                    .isInstanceOf(FeignException.FeignClientException.class);
+        }
+
+        assertThat(weatherClient.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void getCurrentWeather_whenBulkheadIsFull_shouldRejectImmediately() throws Exception {
+        latencyMs = 400;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> weatherClient.getCurrentWeather("test-key", "slow-ankara"));
+            Future<?> second = executor.submit(() -> weatherClient.getCurrentWeather("test-key", "slow-bursa"));
+            await().until(() -> SLOW_IN_FLIGHT.get() == 2);
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> weatherClient.getCurrentWeather("test-key", "konya"))
+                    .isInstanceOf(BulkheadFullException.class);
+            assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(100);
+
+            first.get();
+            second.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(CALLS.get()).isEqualTo(2);
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 64);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/current.json", ResilientWeatherClientTest::respond);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        CALLS.incrementAndGet();
+        boolean slow = exchange.getRequestURI().getQuery().contains("q=slow-");
+        if (slow) {
+            SLOW_IN_FLIGHT.incrementAndGet();
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (slow) {
+                SLOW_IN_FLIGHT.decrementAndGet();
+            }
+        }
+
+        if (status != 200) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = "{\"current\":{\"temp_c\":20.0,\"feelslike_c\":20.0,\"humidity\":50}}"
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
\ No newline at end of file
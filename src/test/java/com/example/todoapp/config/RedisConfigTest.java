@@ -0,0 +1,82 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.cache.TodoListCache;
+import com.example.todoapp.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds the cache manager the way the context does and reads the TTL each named cache
+ * actually writes its Redis entries with.
+ */
+@ExtendWith(MockitoExtension.class)
+class RedisConfigTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private TwoTierCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        RedisConfig redisConfig = new RedisConfig();
+        cacheManager = redisConfig.cacheManager(connectionFactory, redisConfig.cacheConfiguration(), redisTemplate,
+                new SimpleMeterRegistry(), 100, 60, 10, 30);
+        cacheManager.afterPropertiesSet();
+    }
+
+    @Test
+    void cacheManager_shouldWriteTodosWithTheDefaultTtl() {
+        assertThat(effectiveTtl("todos")).isEqualTo(Duration.ofMinutes(60));
+    }
+
+    @Test
+    void cacheManager_shouldWriteListPagesWithTheListTtl() {
+        assertThat(effectiveTtl(TodoListCache.TODO_LISTS_CACHE)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    void cacheManager_shouldWriteOverdueListPagesWithTheOverdueTtl() {
+        assertThat(effectiveTtl(TodoListCache.OVERDUE_TODO_LISTS_CACHE)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    private Duration effectiveTtl(String cacheName) {
+        clearInvocations(stringCommands);
+        cacheManager.getCache(cacheName).put("user@example.com:1", "value");
+
+        ArgumentCaptor<Expiration> ttl = ArgumentCaptor.forClass(Expiration.class);
+        verify(stringCommands).set(any(byte[].class), any(byte[].class), ttl.capture(),
+                any(RedisStringCommands.SetOption.class));
+        return Duration.ofMillis(ttl.getValue().getExpirationTimeInMilliseconds());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.example.todoapp.controller;
+
+import com.example.todoapp.dto.CursorPageResponse;
+import com.example.todoapp.dto.TodoListQuery;
+import com.example.todoapp.enums.CountMode;
+import com.example.todoapp.enums.PagingMode;
+import com.example.todoapp.enums.TagMatch;
+import com.example.todoapp.pagination.TodoCursor;
+import com.example.todoapp.security.JwtTokenFilter;
+import com.example.todoapp.security.RateLimitFilter;
+import com.example.todoapp.service.TodoExportService;
+import com.example.todoapp.service.TodoImportService;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.sql.QueryMetricsFilter;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/todos takes every list mode through one handler; these cover how the parameters pick the
+ * mode and which combinations are turned away with a 400.
+ */
+// security filters are left out, the caller is passed in as the request principal instead
+@WebMvcTest(
+        controllers = TodoController.class,
+        properties = {
+                "spring.cloud.config.enabled=false",
+                "weather.api.base-url=http://localhost"
+        },
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE,
+                classes = {JwtTokenFilter.class, RateLimitFilter.class, QueryMetricsFilter.class}
+        )
+)
+@AutoConfigureMockMvc(addFilters = false)
+class TodoListControllerTest {
+
+    private static final String USER_EMAIL = "test@turkcell.com.tr";
+
+    private static final Authentication AUTHENTICATION =
+            new UsernamePasswordAuthenticationToken(USER_EMAIL, null, Collections.emptyList());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TodoService todoService;
+
+    @MockitoBean
+    private TodoExportService todoExportService;
+
+    @MockitoBean
+    private TodoImportService todoImportService;
+
+    @Test
+    void getAllTodos_whenCursorPagingHasNoAfter_shouldReturnTheFirstKeysetPage() throws Exception {
+        when(todoService.getTodos(any(TodoListQuery.class), eq(USER_EMAIL), any(Pageable.class)))
+                .thenReturn(new CursorPageResponse<>(List.of(), 20, true, "bmV4dA"));
+
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("paging", "cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("bmV4dA"));
+
+        TodoListQuery query = capturedQuery();
+        assertThat(query.paging()).isEqualTo(PagingMode.CURSOR);
+        assertThat(query.after()).isNull();
+    }
+
+    @Test
+    void getAllTodos_whenCursorPagingHasAfter_shouldPassTheCursorOn() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("paging", "cursor").param("after", "bmV4dA"))
+                .andExpect(status().isOk());
+
+        assertThat(capturedQuery().after()).isEqualTo("bmV4dA");
+    }
+
+    @Test
+    void getAllTodos_whenNoPagingIsGiven_shouldPageByOffset() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("completed", "true"))
+                .andExpect(status().isOk());
+
+        TodoListQuery query = capturedQuery();
+        assertThat(query.paging()).isEqualTo(PagingMode.OFFSET);
+        assertThat(query.completed()).isTrue();
+    }
+
+    @Test
+    void getAllTodos_whenAfterIsGivenWithoutCursorPaging_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("after", "bmV4dA"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("after parametresi yalnızca paging=cursor ile kullanılabilir."));
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenPagingIsUnknown_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("paging", "seek"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenCursorIsMalformed_shouldReturn400BadRequest() throws Exception {
+        // decoding is the service's first step, the rest is never reached for a bad cursor
+        when(todoService.getTodos(any(TodoListQuery.class), eq(USER_EMAIL), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    TodoCursor.decode(invocation.<TodoListQuery>getArgument(0).after());
+                    return null;
+                });
+
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("paging", "cursor").param("after", "bm90LWEtY3Vyc29y"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.statusCode").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bm90LWEtY3Vyc29y"));
+    }
+
+    @Test
+    void getAllTodos_whenCountIsNone_shouldPageByOffsetWithoutATotal() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("count", "none").param("tag", "iş"))
+                .andExpect(status().isOk());
+
+        TodoListQuery query = capturedQuery();
+        assertThat(query.countMode()).isEqualTo(CountMode.NONE);
+        assertThat(query.tag()).isEqualTo("iş");
+    }
+
+    @Test
+    void getAllTodos_whenCountIsLeftOut_shouldCountExactly() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION))
+                .andExpect(status().isOk());
+
+        assertThat(capturedQuery().countMode()).isEqualTo(CountMode.EXACT);
+    }
+
+    @Test
+    void getAllTodos_whenAfterIsGivenWithCountNone_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("after", "bmV4dA").param("count", "none"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenCursorPagingHasACount_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("paging", "cursor").param("count", "estimate"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("count parametresi paging=cursor ile kullanılamaz."));
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenCountIsUnknown_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("count", "approximate"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenTagsAreGiven_shouldLookThemUpInTheTagIndex() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("tags", "iş", "ev").param("match", "any"))
+                .andExpect(status().isOk());
+
+        TodoListQuery query = capturedQuery();
+        assertThat(query.tagIndexLookup()).isTrue();
+        assertThat(query.tags()).containsExactly("iş", "ev");
+        assertThat(query.match()).isEqualTo(TagMatch.ANY);
+    }
+
+    @Test
+    void getAllTodos_whenTagsAreGivenWithCountNone_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("tags", "iş").param("count", "none"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("tags parametresi yalnızca count=exact ile kullanılabilir."));
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenTagsAreGivenWithAfter_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("tags", "iş").param("after", "bmV4dA"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenTagsAreGivenWithCursorPaging_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("tags", "iş").param("paging", "cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("tags parametresi paging=cursor ile kullanılamaz."));
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenTagAndTagsAreGiven_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("tag", "iş").param("tags", "ev"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(todoService);
+    }
+
+    @Test
+    void getAllTodos_whenMatchIsGivenWithoutTags_shouldReturn400BadRequest() throws Exception {
+        mockMvc.perform(get("/api/todos").principal(AUTHENTICATION).param("match", "any"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("match parametresi yalnızca tags ile kullanılabilir."));
+
+        verifyNoInteractions(todoService);
+    }
+
+    private TodoListQuery capturedQuery() {
+        ArgumentCaptor<TodoListQuery> query = ArgumentCaptor.forClass(TodoListQuery.class);
+        verify(todoService).getTodos(query.capture(), eq(USER_EMAIL), any(Pageable.class));
+        return query.getValue();
+    }
+}
\ No newline at end of file
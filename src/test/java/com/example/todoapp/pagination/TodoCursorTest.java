@@ -0,0 +1,65 @@
+package com.example.todoapp.pagination;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TodoCursorTest {
+
+    @Test
+    void encode_thenDecode_shouldReturnTheSameCursor() {
+        TodoResponse last = new TodoResponse(42L, "Son", null, false, 1_700_000_000_000L, null,
+                Priority.LOW, null, "test@turkcell.com.tr");
+
+        TodoCursor cursor = TodoCursor.after(last, Sort.Direction.DESC);
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(TodoCursor.decode(token)).isEqualTo(new TodoCursor(Sort.Direction.DESC, 1_700_000_000_000L, 42L));
+    }
+
+    @Test
+    void first_shouldStartBeforeEveryRowInTheGivenDirection() {
+        assertThat(TodoCursor.first(Sort.Direction.ASC))
+                .isEqualTo(new TodoCursor(Sort.Direction.ASC, Long.MIN_VALUE, Long.MIN_VALUE));
+        assertThat(TodoCursor.first(Sort.Direction.DESC))
+                .isEqualTo(new TodoCursor(Sort.Direction.DESC, Long.MAX_VALUE, Long.MAX_VALUE));
+
+        TodoCursor first = TodoCursor.first(Sort.Direction.ASC);
+        assertThat(TodoCursor.decode(first.encode())).isEqualTo(first);
+    }
+
+    @Test
+    void decode_whenTokenIsNotBase64_shouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> TodoCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: not a cursor!");
+    }
+
+    @Test
+    void decode_whenTokenWasTamperedWith_shouldThrowIllegalArgumentException() {
+        String token = new TodoCursor(Sort.Direction.ASC, 100L, 7L).encode();
+
+        assertThatThrownBy(() -> TodoCursor.decode(token.substring(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TodoCursor.decode(raw("SIDEWAYS:100:7")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TodoCursor.decode(raw("ASC:100:7:1")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TodoCursor.decode(raw("ASC:yesterday:7")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TodoCursor.decode(raw("ASC:100")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
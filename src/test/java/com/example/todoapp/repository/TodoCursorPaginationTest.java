@@ -0,0 +1,109 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.pagination.TodoCursor;
+import com.example.todoapp.support.PostgresJpaTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks a user's todos page by page with the keyset query, passing the encoded cursor along the
+ * way a client would. Most of the rows share a createdAt, so only the id tie-breaker keeps the
+ * pages from skipping or repeating rows.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@ContextConfiguration(classes = PostgresJpaTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TodoCursorPaginationTest {
+
+    private static final String USER = "cursor@turkcell.com.tr";
+    private static final long FIRST_ID = 5_000_001L;
+    private static final int TODOS = 11;
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM todo_tags WHERE todo_id IN (SELECT id FROM todos WHERE user_email = ?)", USER);
+        jdbcTemplate.update("DELETE FROM todos WHERE user_email = ?", USER);
+        // ids 0..7 share createdAt 500, the rest are older and newer
+        jdbcTemplate.update("""
+                INSERT INTO todos (id, title, description, completed, reminder_sent, created_at, deadline, priority, user_email)
+                SELECT ? + g, 'cursor-' || g, NULL, FALSE, FALSE,
+                       CASE WHEN g < 8 THEN 500 WHEN g = 8 THEN 100 ELSE 900 END, NULL, 'MEDIUM', ?
+                FROM generate_series(0, ? - 1) AS g
+                """, FIRST_ID, USER, TODOS);
+        jdbcTemplate.execute("SELECT setval('todos_seq', (SELECT MAX(id) + 50 FROM todos), false)");
+    }
+
+    @Test
+    void findTodoResponsesAfter_whenSortKeysAreEqual_shouldContinueOnIdWithoutGapsOrRepeats() {
+        List<Long> ascending = walk(Sort.Direction.ASC);
+
+        assertThat(ascending).containsExactly(
+                FIRST_ID + 8,
+                FIRST_ID, FIRST_ID + 1, FIRST_ID + 2, FIRST_ID + 3,
+                FIRST_ID + 4, FIRST_ID + 5, FIRST_ID + 6, FIRST_ID + 7,
+                FIRST_ID + 9, FIRST_ID + 10
+        );
+        assertThat(walk(Sort.Direction.DESC)).containsExactlyElementsOf(ascending.reversed());
+    }
+
+    @Test
+    void findTodoResponsesAfter_whenCursorIsOnTheLastRow_shouldReturnNothing() {
+        TodoResponse last = todoRepository.findTodoResponsesAfter(filter(), TodoCursor.first(Sort.Direction.DESC), 1).get(0);
+
+        TodoCursor cursor = TodoCursor.decode(TodoCursor.after(last, Sort.Direction.ASC).encode());
+
+        assertThat(todoRepository.findTodoResponsesAfter(filter(), cursor, PAGE_SIZE)).isEmpty();
+    }
+
+    // follows nextCursor the way the service builds it, with one lookahead row per page
+    private List<Long> walk(Sort.Direction direction) {
+        List<Long> ids = new ArrayList<>();
+        TodoCursor cursor = TodoCursor.first(direction);
+        int pages = 0;
+
+        while (true) {
+            List<TodoResponse> rows = todoRepository.findTodoResponsesAfter(filter(), cursor, PAGE_SIZE + 1);
+            List<TodoResponse> page = rows.subList(0, Math.min(rows.size(), PAGE_SIZE));
+            page.forEach(todo -> ids.add(todo.id()));
+            pages++;
+
+            if (rows.size() <= PAGE_SIZE) {
+                break;
+            }
+            cursor = TodoCursor.decode(TodoCursor.after(page.get(page.size() - 1), direction).encode());
+        }
+
+        assertThat(pages).isEqualTo((TODOS + PAGE_SIZE - 1) / PAGE_SIZE);
+        return ids;
+    }
+
+    private TodoFilter filter() {
+        return TodoFilter.of(null, null, null, null, USER);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.pagination.TodoCursor;
+import com.example.todoapp.support.PostgresJpaTestConfiguration;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL, seeds a skewed data set and
+ * checks that the list, tag, cursor and reminder queries are served by the indexes
+ * rather than by sequential scans. The statements are the ones the repository actually
+ * sends, captured on the DataSource and explained with their bound parameters.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@ContextConfiguration(classes = {PostgresJpaTestConfiguration.class, TodoQueryPlanTest.StatementCapture.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TodoQueryPlanTest {
+
+    private static final String USER = "user-42@turkcell.com.tr";
+    private static final long NOW = 1_000_000L;
+
+    private static final List<QueryInfo> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private static boolean seeded;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        STATEMENTS.clear();
+        if (seeded) {
+            return;
+        }
+
+        // 200k todos over 200 users, ~1% of them still waiting for a reminder
+        jdbcTemplate.execute("""
+                INSERT INTO todos (id, title, description, completed, reminder_sent, created_at, deadline, priority, user_email)
+                SELECT g,
+                       'todo ' || g,
+                       NULL,
+                       g % 3 = 0,
+                       g % 100 <> 1,
+                       g,
+                       CASE WHEN g % 5 = 0 THEN NULL ELSE g * 10 END,
+                       (ARRAY['LOW', 'MEDIUM', 'HIGH'])[g % 3 + 1],
+                       'user-' || (g % 200) || '@turkcell.com.tr'
+                FROM generate_series(1, 200000) AS g
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO todo_tags (todo_id, tag)
+                SELECT t.id, 'tag-' || ((t.id + n) % 50)
+                FROM todos t CROSS JOIN generate_series(0, 1) AS n
+                """);
+        jdbcTemplate.execute("SELECT setval('todos_seq', (SELECT MAX(id) + 50 FROM todos), false)");
+        jdbcTemplate.execute("ANALYZE todos");
+        jdbcTemplate.execute("ANALYZE todo_tags");
+        seeded = true;
+    }
+
+    @Test
+    void findTodoResponses_withCompletedAndOverdueFilters_shouldUseUserCompletedDeadlineIndex() {
+        todoRepository.findTodoResponses(new TodoFilter(false, null, null, true, USER, NOW),
+                Sort.unsorted(), 40, 20, true);
+
+        String plan = explainOnly("ORDER BY t.id ASC LIMIT");
+
+        assertThat(plan).contains("idx_todos_user_completed_deadline");
+        assertThat(plan).contains("idx_todo_tags_todo_id");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void findTodoResponses_withTagFilter_shouldUseTagIndexes() {
+        todoRepository.findTodoResponses(new TodoFilter(null, null, "tag-7", null, USER, NOW),
+                Sort.by(Sort.Direction.DESC, "createdAt"), 0, 20, true);
+
+        String plan = explainOnly("ft.tag = ");
+
+        assertThat(plan).contains("idx_todo_tags_tag_todo_id");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void findTodoResponsesAfter_shouldSeekOnUserCreatedAtIdIndex() {
+        todoRepository.findTodoResponsesAfter(new TodoFilter(null, null, null, null, USER, NOW),
+                new TodoCursor(Sort.Direction.DESC, 150_000L, 150_000L), 21);
+
+        String plan = explainOnly("(t.created_at, t.id) <");
+
+        assertThat(plan).contains("idx_todos_user_created_at_id");
+        assertThat(plan).doesNotContain("Seq Scan");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void claimDueReminders_shouldReadTheNextChunkOffThePendingRemindersIndex() {
+        // rolled back, so the rows stay pending for the other tests
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            todoRepository.claimDueReminders(NOW, 50_000L, 100);
+            status.setRollbackOnly();
+        });
+
+        String plan = explainOnly("FOR UPDATE SKIP LOCKED");
+
+        assertThat(plan).contains("idx_todos_pending_reminders_id");
+        assertThat(plan).doesNotContain("Seq Scan");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    // explains the one captured statement containing the fragment, with the parameters it was sent with
+    private String explainOnly(String fragment) {
+        List<QueryInfo> matching = STATEMENTS.stream()
+                .filter(query -> query.getQuery().contains(fragment))
+                .toList();
+        assertThat(matching).as("statements containing '%s'", fragment).hasSize(1);
+        QueryInfo query = matching.get(0);
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (COSTS OFF) " + query.getQuery())) {
+            if (!query.getParametersList().isEmpty()) {
+                for (ParameterSetOperation operation : query.getParametersList().get(0)) {
+                    operation.getMethod().invoke(statement, operation.getArgs());
+                }
+            }
+            List<String> lines = new ArrayList<>();
+            try (ResultSet plan = statement.executeQuery()) {
+                while (plan.next()) {
+                    lines.add(plan.getString(1));
+                }
+            }
+            return String.join("\n", lines);
+        } catch (SQLException | ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not explain: " + query.getQuery(), e);
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StatementCapture {
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            QueryExecutionListener listener = new QueryExecutionListener() {
+                @Override
+                public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                    STATEMENTS.addAll(queryInfoList);
+                }
+
+                @Override
+                public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                }
+            };
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource).listener(listener).build();
+                }
+            };
+        }
+    }
+}
\ No newline at end of file
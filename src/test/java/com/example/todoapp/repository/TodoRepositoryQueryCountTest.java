@@ -0,0 +1,130 @@
+package com.example.todoapp.repository;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.sql.QueryStats;
+import com.example.todoapp.sql.QueryStatsDataSourcePostProcessor;
+import com.example.todoapp.sql.StatementBudgetExceededException;
+import com.example.todoapp.support.PostgresJpaTestConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Counts the statements TodoRepository paths issue for a small and a large result. A path whose
+ * count grows with the number of todos has an N+1; strict mode makes such a path fail outright.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@ContextConfiguration(classes = {PostgresJpaTestConfiguration.class, QueryStatsDataSourcePostProcessor.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TodoRepositoryQueryCountTest {
+
+    private static final String USER = "query-count@turkcell.com.tr";
+    private static final long FIRST_ID = 2_000_001L;
+    private static final int TODOS = 30;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM todo_tags WHERE todo_id IN (SELECT id FROM todos WHERE user_email = ?)", USER);
+        jdbcTemplate.update("DELETE FROM todos WHERE user_email = ?", USER);
+        jdbcTemplate.update("""
+                INSERT INTO todos (id, title, description, completed, reminder_sent, created_at, deadline, priority, user_email)
+                SELECT ? + g, 'count-' || g, NULL, FALSE, FALSE, g, NULL, 'LOW', ?
+                FROM generate_series(0, ? - 1) AS g
+                """, FIRST_ID, USER, TODOS);
+        jdbcTemplate.update("""
+                INSERT INTO todo_tags (todo_id, tag)
+                SELECT t.id, 'tag-' || n FROM todos t CROSS JOIN generate_series(0, 1) AS n
+                WHERE t.user_email = ?
+                """, USER);
+        jdbcTemplate.execute("SELECT setval('todos_seq', (SELECT MAX(id) + 50 FROM todos), false)");
+    }
+
+    @Test
+    void findTodoResponses_shouldNotIssueMoreStatementsForMoreTodos() {
+        TodoFilter filter = TodoFilter.of(null, null, null, null, USER);
+
+        int few = statements(() -> todoRepository.findTodoResponses(filter, Sort.by("id"), 0, 5, true));
+        int many = statements(() -> todoRepository.findTodoResponses(filter, Sort.by("id"), 0, TODOS, true));
+
+        assertThat(many).isEqualTo(few);
+    }
+
+    @Test
+    void findByIdsAndUserEmailWithTags_shouldLoadTodosAndTagsInOneStatement() {
+        int few = statements(() -> touchTags(todoRepository.findByIdsAndUserEmailWithTags(ids(5), USER)));
+        int many = statements(() -> touchTags(todoRepository.findByIdsAndUserEmailWithTags(ids(TODOS), USER)));
+
+        assertThat(few).isEqualTo(1);
+        assertThat(many).isEqualTo(1);
+    }
+
+    @Test
+    void strictMode_whenTagsAreLoadedPerTodo_shouldFailOnTheStatementOverBudget() {
+        QueryStats.begin(5, true);
+        Throwable failure;
+        try {
+            failure = catchThrowable(() -> transactionTemplate.executeWithoutResult(status ->
+                    touchTags(todoRepository.findAllById(ids(TODOS)))));
+        } finally {
+            QueryStats.end();
+        }
+
+        assertThat(failure).isNotNull();
+        Throwable cause = failure;
+        while (cause != null && !(cause instanceof StatementBudgetExceededException)) {
+            cause = cause.getCause();
+        }
+        assertThat(cause).isInstanceOf(StatementBudgetExceededException.class);
+    }
+
+    private int statements(Runnable work) {
+        QueryStats.begin(0, false);
+        QueryStats stats;
+        try {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+        } finally {
+            stats = QueryStats.end();
+        }
+        return stats.statements();
+    }
+
+    private static List<Long> ids(int count) {
+        return LongStream.range(FIRST_ID, FIRST_ID + count).boxed().toList();
+    }
+
+    private static void touchTags(List<Todo> todos) {
+        todos.forEach(todo -> todo.getTags().size());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.example.todoapp.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineTimerTest {
+
+    private final BlockingQueue<List<Long>> batches = new LinkedBlockingQueue<>();
+    private final DeadlineTimer timer = new DeadlineTimer("test-timer", batches::add);
+
+    @AfterEach
+    void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    void arm_whenDeadlinesHavePassed_shouldFireAllOfThem() throws InterruptedException {
+        long past = System.currentTimeMillis() - 1000;
+        timer.arm(1L, past);
+        timer.arm(2L, past);
+        timer.arm(3L, past);
+
+        List<Long> fired = new ArrayList<>();
+        while (fired.size() < 3) {
+            List<Long> batch = batches.poll(1, TimeUnit.SECONDS);
+            assertThat(batch).isNotNull();
+            fired.addAll(batch);
+        }
+
+        assertThat(fired).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    void arm_whenRearmedLater_shouldNotFireAtTheOldTime() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        timer.arm(1L, now + 100);
+        timer.arm(1L, now + 500);
+
+        assertThat(batches.poll(300, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(batches.poll(1, TimeUnit.SECONDS)).containsExactly(1L);
+    }
+
+    @Test
+    void cancel_shouldPreventFiring() throws InterruptedException {
+        timer.arm(1L, System.currentTimeMillis() + 100);
+        timer.cancel(1L);
+
+        assertThat(batches.poll(400, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    void arm_whileTheHandlerIsBusy_shouldKeepFiringAndBatchTheRest() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<String> handlerThreads = new LinkedBlockingQueue<>();
+        DeadlineTimer slowTimer = new DeadlineTimer("slow-timer", ids -> {
+            handlerThreads.add(Thread.currentThread().getName());
+            batches.add(ids);
+            awaitQuietly(release);
+        });
+        try {
+            slowTimer.arm(1L, System.currentTimeMillis() - 1000);
+            assertThat(batches.poll(1, TimeUnit.SECONDS)).containsExactly(1L);
+
+            long past = System.currentTimeMillis() - 1000;
+            slowTimer.arm(2L, past);
+            slowTimer.arm(3L, past);
+            long waitUntil = System.currentTimeMillis() + 1000;
+            while (slowTimer.size() > 0 && System.currentTimeMillis() < waitUntil) {
+                Thread.sleep(10);
+            }
+            assertThat(slowTimer.size()).isZero(); // fired while the first batch is still being handled
+
+            release.countDown();
+            assertThat(batches.poll(1, TimeUnit.SECONDS)).containsExactlyInAnyOrder(2L, 3L);
+            assertThat(handlerThreads).containsOnly("slow-timer-handler");
+        } finally {
+            slowTimer.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
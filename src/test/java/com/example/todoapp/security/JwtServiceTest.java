@@ -0,0 +1,82 @@
+package com.example.todoapp.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "dGhpcy1pcy1hLXRlc3Qtc2VjcmV0LWZvci1qd3Qtc2VydmljZS10ZXN0cw==";
+    private static final String OTHER_SECRET = "YW5vdGhlci10ZXN0LXNlY3JldC10aGF0LWRvZXMtbm90LW1hdGNoLXRoZS1rZXk=";
+
+    private final JwtService jwtService = new JwtService(SECRET, 100);
+
+    @Test
+    void verify_whenTokenIsValid_shouldReturnSubjectAndExpiry() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        String token = token(SECRET, "user@turkcell.com.tr", expiresAt);
+
+        JwtService.VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.subject()).isEqualTo("user@turkcell.com.tr");
+        assertThat(verified.expiresAt().getEpochSecond()).isEqualTo(expiresAt.getEpochSecond());
+        assertThat(jwtService.verify(token)).isEqualTo(verified);
+    }
+
+    @Test
+    void verify_whenCachedTokenHasExpired_shouldThrow() throws InterruptedException {
+        String token = token(SECRET, "user@turkcell.com.tr", Instant.now().plusSeconds(2));
+        jwtService.verify(token);
+
+        Thread.sleep(2_500);
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void verify_whenSignedWithAnotherKey_shouldThrowEveryTime() {
+        String token = token(OTHER_SECRET, "user@turkcell.com.tr", Instant.now().plusSeconds(600));
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void verify_whenTokenHasNoExpiration_shouldThrow() {
+        String token = Jwts.builder().subject("user@turkcell.com.tr").signWith(key(SECRET)).compact();
+
+        assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(MalformedJwtException.class);
+    }
+
+    @Test
+    void verify_whenCacheIsDisabled_shouldStillVerify() {
+        JwtService uncached = new JwtService(SECRET, 0);
+        String token = token(SECRET, "user@turkcell.com.tr", Instant.now().plusSeconds(600));
+
+        assertThat(uncached.verify(token).subject()).isEqualTo("user@turkcell.com.tr");
+    }
+
+    private static String token(String secret, String subject, Instant expiresAt) {
+        return Jwts.builder()
+                .subject(subject)
+                .issuedAt(new Date())
+                .expiration(Date.from(expiresAt))
+                .signWith(key(secret))
+                .compact();
+    }
+
+    private static SecretKey key(String secret) {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+}
\ No newline at end of file
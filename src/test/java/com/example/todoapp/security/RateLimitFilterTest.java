@@ -0,0 +1,129 @@
+package com.example.todoapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitFilterTest {
+
+    private static final List<String> COSTS = List.of("GET /api/todos=5", "* /api/todos/batch=10");
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_whenBurstIsUsedUp_shouldReturn429WithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(10, 1);
+        authenticate("user@turkcell.com.tr");
+
+        MockHttpServletResponse first = perform(filter, "GET", "/api/todos");
+        MockHttpServletResponse second = perform(filter, "GET", "/api/todos");
+        MockHttpServletResponse third = perform(filter, "GET", "/api/todos/1");
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void doFilter_whenUsersDiffer_shouldKeepSeparateBuckets() throws Exception {
+        RateLimitFilter filter = filter(10, 1);
+
+        authenticate("first@turkcell.com.tr");
+        assertThat(perform(filter, "POST", "/api/todos/batch").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/api/todos/1").getStatus()).isEqualTo(429);
+
+        authenticate("second@turkcell.com.tr");
+        assertThat(perform(filter, "GET", "/api/todos/1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void doFilter_whenAnonymous_shouldNotLimit() throws Exception {
+        RateLimitFilter filter = filter(10, 1);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(perform(filter, "GET", "/api/todos").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void tryAcquire_whenTokensRefill_shouldAllowAgain() throws InterruptedException {
+        RateLimitFilter filter = filter(10, 100);
+
+        assertThat(filter.tryAcquire("user@turkcell.com.tr", 10)).isZero();
+        assertThat(filter.tryAcquire("user@turkcell.com.tr", 1)).isPositive();
+
+        Thread.sleep(120);
+
+        assertThat(filter.tryAcquire("user@turkcell.com.tr", 10)).isZero();
+    }
+
+    @Test
+    void tryAcquire_whenCalledConcurrently_shouldNeverGrantMoreThanCapacity() throws Exception {
+        RateLimitFilter filter = filter(100, 0.001);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    int granted = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (filter.tryAcquire("user@turkcell.com.tr", 1) == 0) {
+                            granted++;
+                        }
+                    }
+                    return granted;
+                });
+            }
+            int granted = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                granted += result.get();
+            }
+            assertThat(granted).isEqualTo(100);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_whenCostIsMalformed_shouldThrow() {
+        assertThatThrownBy(() -> new RateLimitFilter(new SimpleMeterRegistry(), true, 10, 1,
+                List.of("/api/todos=5"), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RateLimitFilter filter(int capacity, double refillPerSecond) {
+        return new RateLimitFilter(new SimpleMeterRegistry(), true, capacity, refillPerSecond, COSTS, 10);
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, Collections.emptyList()));
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.EmailSendEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailEventProducerTest {
+
+    private static final EmailSendEvent EVENT = new EmailSendEvent("user@turkcell.com.tr", "Hatırlatma", "body");
+
+    @Mock
+    private KafkaTemplate<String, EmailSendEvent> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailEventProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        producer = new EmailEventProducer(kafkaTemplate, meterRegistry, 2, 50);
+        ReflectionTestUtils.setField(producer, "emailSendTopic", "email-send");
+        ReflectionTestUtils.setField(producer, "emailSendDeadLetterTopic", "email-send.DLT");
+    }
+
+    @Test
+    void send_whenInFlightWindowIsFull_shouldFailWithoutReachingKafka() {
+        CompletableFuture<SendResult<String, EmailSendEvent>> unacknowledged = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(unacknowledged);
+
+        producer.send(EVENT, "reminder:1:1");
+        producer.send(EVENT, "reminder:2:1");
+        CompletableFuture<?> third = producer.send(EVENT, "reminder:3:1");
+
+        assertThat(third).isCompletedExceptionally();
+        assertThat(inFlight()).isEqualTo(2);
+        verify(kafkaTemplate, times(2)).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    void send_whenAcknowledgementsArrive_shouldReopenTheWindow() {
+        CompletableFuture<SendResult<String, EmailSendEvent>> acknowledged = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, EmailSendEvent>> failed = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(acknowledged, failed, new CompletableFuture<>(), new CompletableFuture<>());
+
+        producer.send(EVENT, "reminder:1:1");
+        producer.send(EVENT, "reminder:2:1");
+        acknowledged.complete(null);
+        failed.completeExceptionally(new TimeoutException("no ack"));
+
+        assertThat(inFlight()).isZero();
+        assertThat(producer.send(EVENT, "reminder:3:1")).isNotCompletedExceptionally();
+        assertThat(producer.send(EVENT, "reminder:4:1")).isNotCompletedExceptionally();
+        assertThat(inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void send_whenKafkaThrowsBeforeQueueing_shouldReleaseThePermit() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenThrow(new TimeoutException("metadata"));
+
+        CompletableFuture<?> send = producer.send(EVENT, "reminder:1:1");
+
+        assertThat(send).isCompletedExceptionally();
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendToDeadLetter_shouldUseTheDeadLetterTopicWithTheFailureHeader() {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+
+        producer.sendToDeadLetter(EVENT, "reminder:1:1", new IllegalStateException("too many attempts"));
+
+        ArgumentCaptor<ProducerRecord<String, EmailSendEvent>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        assertThat(record.getValue().topic()).isEqualTo("email-send.DLT");
+        assertThat(header(record.getValue(), EmailEventProducer.DEDUPE_KEY_HEADER)).isEqualTo("reminder:1:1");
+        assertThat(header(record.getValue(), EmailEventProducer.FAILURE_HEADER)).contains("too many attempts");
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("email.producer.in.flight").gauge().value();
+    }
+
+    private static String header(ProducerRecord<String, EmailSendEvent> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
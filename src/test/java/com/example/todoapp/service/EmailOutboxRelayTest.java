@@ -0,0 +1,165 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.EmailOutboxMessage;
+import com.example.todoapp.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Mock
+    private EmailEventProducer emailEventProducer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmailOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new EmailOutboxRelay(emailOutboxRepository, emailEventProducer,
+                new TransactionTemplate(transactionManager), meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(relay, "sendTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(relay, "leaseSeconds", 120L);
+    }
+
+    @Test
+    void relay_shouldCommitTheClaimBeforeSendingAndSettleInASecondTransaction() {
+        EmailOutboxMessage message = message(1L, 0);
+        when(emailOutboxRepository.claimBatch(anyLong(), eq(BATCH_SIZE))).thenReturn(List.of(message));
+        when(emailEventProducer.send(message.toEvent(), message.getDedupeKey()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        // no transaction is open while the record waits for its acknowledgement
+        InOrder order = inOrder(transactionManager, emailOutboxRepository, emailEventProducer);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(emailOutboxRepository).claimBatch(anyLong(), eq(BATCH_SIZE));
+        order.verify(emailOutboxRepository).lease(eq(List.of(1L)), anyLong());
+        order.verify(transactionManager).commit(any());
+        order.verify(emailEventProducer).send(message.toEvent(), message.getDedupeKey());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(emailOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void relay_shouldNotCountTheOutbox() {
+        when(emailOutboxRepository.claimBatch(anyLong(), eq(BATCH_SIZE))).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(emailOutboxRepository, never()).count();
+    }
+
+    @Test
+    void samplePending_shouldPublishTheOutboxSize() {
+        when(emailOutboxRepository.count()).thenReturn(42L);
+
+        relay.samplePending();
+
+        assertThat(meterRegistry.get("email.outbox.pending").gauge().value()).isEqualTo(42.0);
+    }
+
+    @Test
+    void relay_whenARetriableFailureIsUnderTheAttemptLimit_shouldReleaseTheRowForRetry() {
+        EmailOutboxMessage message = message(1L, MAX_ATTEMPTS - 2);
+        when(emailOutboxRepository.claimBatch(anyLong(), eq(BATCH_SIZE))).thenReturn(List.of(message));
+        when(emailEventProducer.send(message.toEvent(), message.getDedupeKey()))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("no ack")));
+
+        relay.relay();
+
+        verify(emailOutboxRepository).releaseFailed(List.of(1L));
+        verify(emailOutboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(emailEventProducer, never()).sendToDeadLetter(any(), any(), any());
+    }
+
+    @Test
+    void relay_whenARetriableFailureReachesTheAttemptLimit_shouldDeadLetterAndDeleteTheRow() {
+        EmailOutboxMessage message = message(1L, MAX_ATTEMPTS - 1);
+        TimeoutException failure = new TimeoutException("no ack");
+        when(emailOutboxRepository.claimBatch(anyLong(), eq(BATCH_SIZE))).thenReturn(List.of(message));
+        when(emailEventProducer.send(message.toEvent(), message.getDedupeKey()))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+        when(emailEventProducer.sendToDeadLetter(message.toEvent(), message.getDedupeKey(), failure))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(emailOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(emailOutboxRepository, never()).releaseFailed(any());
+    }
+
+    @Test
+    void relay_whenKafkaCanNeverAcceptTheRecord_shouldDeadLetterOnTheFirstAttempt() {
+        EmailOutboxMessage message = message(1L, 0);
+        RecordTooLargeException failure = new RecordTooLargeException("too large");
+        when(emailOutboxRepository.claimBatch(anyLong(), eq(BATCH_SIZE))).thenReturn(List.of(message));
+        when(emailEventProducer.send(message.toEvent(), message.getDedupeKey()))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+        when(emailEventProducer.sendToDeadLetter(message.toEvent(), message.getDedupeKey(), failure))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(emailOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void relay_whenTheDeadLetterSendFails_shouldKeepTheRowInTheOutbox() {
+        EmailOutboxMessage delivered = message(1L, 0);
+        EmailOutboxMessage exhausted = message(2L, MAX_ATTEMPTS - 1);
+        TimeoutException failure = new TimeoutException("no ack");
+        when(emailOutboxRepository.claimBatch(anyLong(), eq(BATCH_SIZE))).thenReturn(List.of(delivered, exhausted));
+        when(emailEventProducer.send(delivered.toEvent(), delivered.getDedupeKey()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(emailEventProducer.send(exhausted.toEvent(), exhausted.getDedupeKey()))
+                .thenReturn(CompletableFuture.failedFuture(failure));
+        when(emailEventProducer.sendToDeadLetter(exhausted.toEvent(), exhausted.getDedupeKey(), failure))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("dead-letter topic down")));
+
+        relay.relay();
+
+        verify(emailOutboxRepository).deleteAllByIdInBatch(List.of(1L));
+        verify(emailOutboxRepository).releaseFailed(List.of(2L));
+    }
+
+    private static EmailOutboxMessage message(long id, int attempts) {
+        return new EmailOutboxMessage(id, "reminder:" + id + ":1", "user@turkcell.com.tr", "Hatırlatma", "body", 1L, attempts);
+    }
+}
\ No newline at end of file
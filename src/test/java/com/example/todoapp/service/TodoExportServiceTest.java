@@ -0,0 +1,120 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.enums.ExportFormat;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.support.PostgresJpaTestConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@ContextConfiguration(classes = PostgresJpaTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TodoExportServiceTest {
+
+    private static final String USER = "export@turkcell.com.tr";
+    private static final long FIRST_ID = 3_000_001L;
+    private static final int TODOS = 2_500;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TodoExportService exportService;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TodoExportService(todoRepository, objectMapper, transactionManager);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 100);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM todo_tags WHERE todo_id IN (SELECT id FROM todos WHERE user_email = ?)", USER);
+        jdbcTemplate.update("DELETE FROM todos WHERE user_email = ?", USER);
+        jdbcTemplate.update("""
+                INSERT INTO todos (id, title, description, completed, reminder_sent, created_at, deadline, priority, user_email)
+                SELECT ? + g, 'export ' || g, CASE WHEN g = 0 THEN 'has "quotes", commas' END,
+                       g % 2 = 0, FALSE, g, NULL, 'HIGH', ?
+                FROM generate_series(0, ? - 1) AS g
+                """, FIRST_ID, USER, TODOS);
+        jdbcTemplate.update("INSERT INTO todo_tags (todo_id, tag) VALUES (?, 'work'), (?, 'home')", FIRST_ID, FIRST_ID);
+        jdbcTemplate.execute("SELECT setval('todos_seq', (SELECT MAX(id) + 50 FROM todos), false)");
+    }
+
+    @Test
+    void exportTodos_asNdjson_shouldWriteOneJsonObjectPerLineInIdOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportTodos(null, null, null, null, USER, ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(TODOS);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(FIRST_ID);
+        assertThat(first.get("tags")).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(TODOS - 1)).get("id").asLong()).isEqualTo(FIRST_ID + TODOS - 1);
+    }
+
+    @Test
+    void exportTodos_asCsv_shouldQuoteFieldsAndApplyFilters() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportTodos(true, null, null, null, USER, ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.get(0)).isEqualTo("id,title,description,completed,createdAt,deadline,priority,tags");
+        assertThat(lines).hasSize(1 + TODOS / 2);
+        assertThat(lines.get(1))
+                .startsWith(FIRST_ID + ",export 0,\"has \"\"quotes\"\", commas\",true,0,,HIGH,")
+                .containsAnyOf("work;home", "home;work");
+    }
+
+    @Test
+    void exportTodos_whenClientDisconnects_shouldStopAndReleaseTheConnection() {
+        OutputStream disconnecting = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 16 * 1024) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        assertThatThrownBy(() -> exportService.exportTodos(null, null, null, null, USER, ExportFormat.NDJSON, disconnecting))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos WHERE user_email = ?", Long.class, USER))
+                .isEqualTo(TODOS);
+    }
+}
\ No newline at end of file
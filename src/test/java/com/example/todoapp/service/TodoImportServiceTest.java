@@ -0,0 +1,216 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.dto.TodoImportResult;
+import com.example.todoapp.enums.ExportFormat;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.support.PostgresJpaTestConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@ContextConfiguration(classes = PostgresJpaTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TodoImportServiceTest {
+
+    private static final String USER = "import@turkcell.com.tr";
+    private static final String EXPORTING_USER = "import-source@turkcell.com.tr";
+    private static final int TODOS = 2_500;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final List<Object> events = new ArrayList<>();
+    private TodoImportService importService;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        importService = new TodoImportService(todoRepository, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, events::add);
+        ReflectionTestUtils.setField(importService, "chunkSize", 1_000);
+        ReflectionTestUtils.setField(importService, "maxErrors", 100);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String user : List.of(USER, EXPORTING_USER)) {
+            jdbcTemplate.update("DELETE FROM todo_tags WHERE todo_id IN (SELECT id FROM todos WHERE user_email = ?)", user);
+            jdbcTemplate.update("DELETE FROM todos WHERE user_email = ?", user);
+        }
+        // imported ids come from the sequence, kept clear of the fixed ids other tests seed
+        jdbcTemplate.execute("SELECT setval('todos_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM todos), 4000000) + 50, false)");
+    }
+
+    @Test
+    void importTodos_asNdjson_shouldInsertValidLinesInChunksAndReportInvalidOnes() throws IOException {
+        StringBuilder upload = new StringBuilder();
+        for (int i = 0; i < TODOS; i++) {
+            upload.append("{\"title\":\"import ").append(i).append("\",\"priority\":\"HIGH\",\"tags\":[\"work\",\"home\"]}\n");
+            if (i == 10) {
+                upload.append("{\"title\":\"\",\"priority\":\"LOW\"}\n");
+                upload.append("{not json\n");
+                upload.append("\n");
+                upload.append("{\"title\":\"bad priority\",\"priority\":\"URGENT\"}\n");
+            }
+        }
+
+        TodoImportResult result = importService.importTodos(input(upload.toString()), ExportFormat.NDJSON, USER);
+
+        assertThat(result.imported()).isEqualTo(TODOS);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.errorsTruncated()).isFalse();
+        assertThat(result.errors()).extracting(TodoImportResult.LineError::line).containsExactly(12L, 13L, 15L);
+        assertThat(result.errors().get(0).error()).startsWith("title: ");
+        assertThat(result.errors().get(1).error()).startsWith("Geçersiz JSON");
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT id) FROM todos WHERE user_email = ?", Long.class, USER)).isEqualTo(TODOS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todo_tags WHERE todo_id IN (SELECT id FROM todos WHERE user_email = ?)",
+                Long.class, USER)).isEqualTo(2L * TODOS);
+        // one event per committed chunk
+        assertThat(events).hasSize(3);
+        assertThat(((TodoChangedEvent) events.get(0)).changes()).hasSize(1_000);
+    }
+
+    @Test
+    void importTodos_asCsv_shouldReadQuotedFieldsAndIgnoreExportOnlyColumns() throws IOException {
+        String upload = """
+                id,title,description,completed,createdAt,deadline,priority,tags
+                1,first,"has ""quotes"", commas
+                and a line break",true,0,1700000000000,medium,work;home
+                2,second,,false,0,,LOW,
+                3,third,,false,0,tomorrow,LOW,
+                """;
+
+        TodoImportResult result = importService.importTodos(input(upload), ExportFormat.CSV, USER);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.errors()).extracting(TodoImportResult.LineError::line).containsExactly(5L);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT title, description, completed, deadline, priority FROM todos WHERE user_email = ? ORDER BY id", USER);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0))
+                .containsEntry("description", "has \"quotes\", commas\nand a line break")
+                .containsEntry("completed", false)
+                .containsEntry("deadline", 1700000000000L)
+                .containsEntry("priority", "MEDIUM");
+        assertThat(rows.get(1).get("description")).isNull();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT tag FROM todo_tags WHERE todo_id IN (SELECT id FROM todos WHERE user_email = ?)", String.class, USER))
+                .containsExactlyInAnyOrder("work", "home");
+    }
+
+    @Test
+    void importTodos_whenMoreRecordsFailThanMaxErrors_shouldCountAllAndTruncate() throws IOException {
+        ReflectionTestUtils.setField(importService, "maxErrors", 2);
+
+        TodoImportResult result = importService.importTodos(
+                input("title,priority\nx,LOW\ny,LOW\nz,LOW\nvalid,LOW\n"), ExportFormat.CSV, USER);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.errors()).hasSize(2);
+        assertThat(result.errorsTruncated()).isTrue();
+    }
+
+    @Test
+    void importTodos_whenTheDatabaseRejectsARecord_shouldSaveTheRestOfTheChunkAndReportItsLine() throws IOException {
+        StringBuilder upload = new StringBuilder();
+        for (int i = 1; i <= 7; i++) {
+            // passes validation, but PostgreSQL does not store NUL characters in text
+            String description = i == 4 ? "nul \\u0000 inside" : "fine";
+            upload.append("{\"title\":\"line ").append(i).append("\",\"description\":\"").append(description)
+                    .append("\",\"priority\":\"LOW\"}\n");
+        }
+
+        TodoImportResult result = importService.importTodos(input(upload.toString()), ExportFormat.NDJSON, USER);
+
+        assertThat(result.imported()).isEqualTo(6);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).extracting(TodoImportResult.LineError::line).containsExactly(4L);
+        assertThat(result.errors().get(0).error()).startsWith("Kayıt kaydedilemedi");
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM todos WHERE user_email = ? ORDER BY id", String.class, USER))
+                .containsExactly("line 1", "line 2", "line 3", "line 5", "line 6", "line 7");
+    }
+
+    @Test
+    void importTodos_whenATagIsLongerThanItsColumn_shouldReportTheLineWithoutReachingTheDatabase() throws IOException {
+        String upload = "{\"title\":\"long tag\",\"priority\":\"LOW\",\"tags\":[\"ok\",\"" + "x".repeat(256) + "\"]}\n"
+                + "{\"title\":\"short tags\",\"priority\":\"LOW\",\"tags\":[\"" + "x".repeat(255) + "\"]}\n";
+
+        TodoImportResult result = importService.importTodos(input(upload), ExportFormat.NDJSON, USER);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(TodoImportResult.LineError::line).containsExactly(1L);
+        assertThat(result.errors().get(0).error()).isEqualTo("tags[1]: Etiket en fazla 255 karakter olabilir.");
+    }
+
+    @Test
+    void importTodos_whenCsvHeaderLacksRequiredColumns_shouldRejectTheUpload() {
+        assertThatThrownBy(() -> importService.importTodos(input("title,tags\nsome title,work\n"), ExportFormat.CSV, USER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos WHERE user_email = ?", Long.class, USER))
+                .isZero();
+    }
+
+    @Test
+    void importTodos_ofACsvExport_shouldRestoreTagsHoldingTheSeparatorOrTheEscape() throws IOException {
+        List<String> tags = List.of("a;b", "back\\slash", "ends\\", "plain");
+        String todo = new ObjectMapper().writeValueAsString(Map.of(
+                "title", "round trip", "description", "with, comma", "priority", "LOW", "tags", tags));
+        importService.importTodos(input(todo + "\n"), ExportFormat.NDJSON, EXPORTING_USER);
+
+        TodoExportService exportService = new TodoExportService(todoRepository, new ObjectMapper(), transactionManager);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 100);
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        exportService.exportTodos(null, null, null, null, EXPORTING_USER, ExportFormat.CSV, export);
+
+        TodoImportResult result = importService.importTodos(
+                new ByteArrayInputStream(export.toByteArray()), ExportFormat.CSV, USER);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT description FROM todos WHERE user_email = ?", String.class, USER)).isEqualTo("with, comma");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT tag FROM todo_tags WHERE todo_id IN (SELECT id FROM todos WHERE user_email = ?)", String.class, USER))
+                .containsExactlyInAnyOrderElementsOf(tags);
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.EmailOutboxMessage;
+import com.example.todoapp.repository.EmailOutboxRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.support.PostgresJpaTestConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * The reminder run over real chunks: each chunk commits on its own, and the run ends on the first short chunk.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@ContextConfiguration(classes = PostgresJpaTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TodoReminderChunkTest {
+
+    private static final String USER = "reminder-chunk@turkcell.com.tr";
+    private static final int TODOS = 250;
+    private static final long FIRST_ID = 4_000_001L;
+    private static final int CHUNK_SIZE = 40;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private TodoReminderService node;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE to_email = ?", USER);
+        jdbcTemplate.update("DELETE FROM todos WHERE user_email = ?", USER);
+        jdbcTemplate.update("""
+                INSERT INTO todos (id, title, description, completed, reminder_sent, created_at, deadline, priority, user_email)
+                SELECT ? + g, 'chunk-' || g, NULL, FALSE, FALSE, ?, ?, 'MEDIUM', ?
+                FROM generate_series(0, ? - 1) AS g
+                """, FIRST_ID, Instant.now().toEpochMilli(), Instant.now().minusSeconds(60).toEpochMilli(), USER, TODOS);
+        jdbcTemplate.execute("SELECT setval('todos_seq', (SELECT MAX(id) + 50 FROM todos), false)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (node != null) {
+            node.stopTimer();
+        }
+    }
+
+    @Test
+    void checkAndSendReminders_whenALaterChunkFails_shouldKeepTheEarlierChunksSent() {
+        List<EmailOutboxMessage> committed = new ArrayList<>();
+        List<EmailOutboxMessage> failed = new ArrayList<>();
+        EmailOutbox outbox = new EmailOutbox(emailOutboxRepository) {
+            @Override
+            public void enqueue(List<EmailOutboxMessage> messages) {
+                super.enqueue(messages);
+                if (messages.stream().anyMatch(message -> message.getDedupeKey().startsWith("reminder:" + (FIRST_ID + 100) + ":"))) {
+                    failed.addAll(messages);
+                    throw new IllegalStateException("outbox unavailable");
+                }
+                committed.addAll(messages);
+            }
+        };
+        node = node(todoRepository, outbox, CHUNK_SIZE);
+
+        assertThatThrownBy(node::checkAndSendReminders).isInstanceOf(IllegalStateException.class);
+
+        List<Long> committedIds = todoIds(committed);
+        List<Long> failedIds = todoIds(failed);
+        long failedFrom = failedIds.stream().filter(id -> id >= FIRST_ID).min(Long::compare).orElseThrow();
+        assertThat(committedIds).contains(FIRST_ID);
+
+        // the chunks before the failure stay committed: todos marked and emails in the outbox
+        assertThat(countSent(committedIds)).isEqualTo(committedIds.size());
+        assertThat(countOutbox(committed)).isEqualTo(committed.size());
+        // the failing chunk rolled back as a whole
+        assertThat(countSent(failedIds)).isZero();
+        assertThat(countOutbox(failed)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE user_email = ? AND reminder_sent = TRUE AND id < ?",
+                Long.class, USER, failedFrom))
+                .isEqualTo(failedFrom - FIRST_ID);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE user_email = ? AND reminder_sent = FALSE AND id >= ?",
+                Long.class, USER, failedFrom))
+                .isEqualTo(FIRST_ID + TODOS - failedFrom);
+    }
+
+    @Test
+    void checkAndSendReminders_whenAChunkComesBackShort_shouldStopWithoutAnotherClaim() {
+        // other tests' due todos share the table; a chunk size that doesn't divide the backlog leaves a short last chunk
+        long due = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE deadline <= ? AND completed = FALSE AND reminder_sent = FALSE",
+                Long.class, Instant.now().plusSeconds(30).toEpochMilli());
+        int chunkSize = due % CHUNK_SIZE == 0 ? CHUNK_SIZE + 1 : CHUNK_SIZE;
+        TodoRepository countingRepository = mock(TodoRepository.class, delegatesTo(todoRepository));
+        List<Integer> chunkSizes = new ArrayList<>();
+        EmailOutbox outbox = new EmailOutbox(emailOutboxRepository) {
+            @Override
+            public void enqueue(List<EmailOutboxMessage> messages) {
+                super.enqueue(messages);
+                chunkSizes.add(messages.size());
+            }
+        };
+        node = node(countingRepository, outbox, chunkSize);
+
+        node.checkAndSendReminders();
+
+        // every chunk but the last is full, and the short last one ends the run without an empty claim
+        long claims = mockingDetails(countingRepository).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("claimDueReminders"))
+                .count();
+        assertThat(chunkSizes).hasSize((int) claims);
+        assertThat(chunkSizes.subList(0, chunkSizes.size() - 1)).containsOnly(chunkSize);
+        assertThat(chunkSizes.get(chunkSizes.size() - 1)).isBetween(1, chunkSize - 1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE user_email = ? AND reminder_sent = FALSE", Long.class, USER))
+                .isZero();
+    }
+
+    private TodoReminderService node(TodoRepository repository, EmailOutbox outbox, int chunkSize) {
+        TodoReminderService service = new TodoReminderService(repository, outbox,
+                new TransactionTemplate(transactionManager), new ReminderEmailRenderer());
+        ReflectionTestUtils.setField(service, "notificationWindowSeconds", 30L);
+        ReflectionTestUtils.setField(service, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(service, "timerHorizonMinutes", 60L);
+        service.startTimer();
+        return service;
+    }
+
+    // reminder dedupe keys are "reminder:<todo id>:<deadline>"
+    private static List<Long> todoIds(List<EmailOutboxMessage> messages) {
+        return messages.stream()
+                .map(message -> Long.parseLong(message.getDedupeKey().split(":")[1]))
+                .toList();
+    }
+
+    private long countSent(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE reminder_sent = TRUE AND id = ANY(?)",
+                Long.class, (Object) ids.toArray(Long[]::new));
+    }
+
+    private long countOutbox(List<EmailOutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM email_outbox WHERE dedupe_key = ANY(?)",
+                Long.class, (Object) messages.stream().map(EmailOutboxMessage::getDedupeKey).toArray(String[]::new));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.EmailOutboxMessage;
+import com.example.todoapp.repository.EmailOutboxRepository;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.support.PostgresJpaTestConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two reminder services, standing in for two replicas, drain the same due todos concurrently
+ * from one PostgreSQL. Every todo must land in the email outbox exactly once and both nodes must get work.
+ */
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@ContextConfiguration(classes = PostgresJpaTestConfiguration.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TodoReminderClaimTest {
+
+    private static final String USER = "reminder-claim@turkcell.com.tr";
+    private static final int TODOS = 2_000;
+    private static final long FIRST_ID = 1_000_001L;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private final List<TodoReminderService> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE to_email = ?", USER);
+        jdbcTemplate.update("DELETE FROM todos WHERE user_email = ?", USER);
+        jdbcTemplate.update("""
+                INSERT INTO todos (id, title, description, completed, reminder_sent, created_at, deadline, priority, user_email)
+                SELECT ? + g, 'claim-' || g, NULL, FALSE, FALSE, ?, ?, 'MEDIUM', ?
+                FROM generate_series(0, ? - 1) AS g
+                """, FIRST_ID, Instant.now().toEpochMilli(), Instant.now().minusSeconds(60).toEpochMilli(), USER, TODOS);
+        jdbcTemplate.execute("SELECT setval('todos_seq', (SELECT MAX(id) + 50 FROM todos), false)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(TodoReminderService::stopTimer);
+    }
+
+    @Test
+    void checkAndSendReminders_onTwoConcurrentNodes_shouldRemindEachTodoExactlyOnce() throws Exception {
+        Queue<EmailOutboxMessage> sentByFirst = new ConcurrentLinkedQueue<>();
+        Queue<EmailOutboxMessage> sentBySecond = new ConcurrentLinkedQueue<>();
+        TodoReminderService first = node(sentByFirst);
+        TodoReminderService second = node(sentBySecond);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> firstRun = executor.submit(() -> {
+                start.await();
+                first.checkAndSendReminders();
+                return null;
+            });
+            Future<?> secondRun = executor.submit(() -> {
+                start.await();
+                second.checkAndSendReminders();
+                return null;
+            });
+            start.countDown();
+            firstRun.get();
+            secondRun.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<EmailOutboxMessage> sent = new ArrayList<>(sentByFirst);
+        sent.addAll(sentBySecond);
+        Map<String, Long> remindersPerTodo = sent.stream()
+                .filter(message -> USER.equals(message.getToEmail()))
+                .map(EmailOutboxMessage::getDedupeKey)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertThat(remindersPerTodo).hasSize(TODOS);
+        assertThat(remindersPerTodo.values()).containsOnly(1L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM email_outbox WHERE to_email = ?", Long.class, USER))
+                .isEqualTo(TODOS);
+        assertThat(sentByFirst).isNotEmpty();
+        assertThat(sentBySecond).isNotEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM todos WHERE user_email = ? AND reminder_sent = FALSE", Long.class, USER))
+                .isZero();
+    }
+
+    private TodoReminderService node(Queue<EmailOutboxMessage> sent) {
+        EmailOutbox outbox = new EmailOutbox(emailOutboxRepository) {
+            @Override
+            public void enqueue(List<EmailOutboxMessage> messages) {
+                super.enqueue(messages);
+                sent.addAll(messages);
+                try {
+                    Thread.sleep(20); // keeps one node from draining everything before the other starts
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        TodoReminderService node = new TodoReminderService(todoRepository, outbox,
+                new TransactionTemplate(transactionManager), new ReminderEmailRenderer());
+        ReflectionTestUtils.setField(node, "notificationWindowSeconds", 30L);
+        ReflectionTestUtils.setField(node, "chunkSize", 50);
+        ReflectionTestUtils.setField(node, "timerHorizonMinutes", 60L);
+        node.startTimer();
+        nodes.add(node);
+        return node;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,262 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.cache.TodoCacheWriter;
+import com.example.todoapp.cache.TodoCountCache;
+import com.example.todoapp.cache.TodoListCache;
+import com.example.todoapp.cache.TodoTagIndex;
+import com.example.todoapp.dto.TodoBatchResult;
+import com.example.todoapp.dto.TodoBatchUpdateRequest;
+import com.example.todoapp.dto.TodoCreateRequest;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.dto.TodoUpdateRequest;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.event.TodoChangedEvent;
+import com.example.todoapp.mapper.TodoMapper;
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Batch create, update and delete: every item is checked before any is written, and one bad item
+ * leaves the whole batch unapplied.
+ */
+@ExtendWith(MockitoExtension.class)
+class TodoServiceImplBatchTest {
+
+    private static final String USER_EMAIL = "test@turkcell.com.tr";
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoMapper todoMapper;
+
+    @Mock
+    private TodoCacheWriter todoCacheWriter;
+
+    @Mock
+    private TodoCountCache todoCountCache;
+
+    @Mock
+    private TodoListCache todoListCache;
+
+    @Mock
+    private TodoTagIndex todoTagIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Validator validator;
+
+    @InjectMocks
+    private TodoServiceImpl todoService;
+
+    private Todo sampleTodo;
+    private TodoResponse sampleTodoResponse;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now().toEpochMilli();
+
+        sampleTodo = new Todo();
+        sampleTodo.setId(1L);
+        sampleTodo.setTitle("Test Todo");
+        sampleTodo.setCompleted(false);
+        sampleTodo.setCreatedAt(now);
+        sampleTodo.setPriority(Priority.MEDIUM);
+        sampleTodo.setUserEmail(USER_EMAIL);
+
+        sampleTodoResponse = new TodoResponse(
+                1L, "Test Todo", null, false, now, null, Priority.MEDIUM, null, USER_EMAIL
+        );
+
+        ReflectionTestUtils.setField(todoService, "maxBatchSize", 500);
+    }
+
+    @Test
+    void createTodos_whenAllItemsAreValid_shouldSaveThemTogether() {
+        useRealValidator();
+        List<TodoCreateRequest> requests = List.of(
+                new TodoCreateRequest("Birinci", null, null, Priority.LOW, null),
+                new TodoCreateRequest("İkinci", null, null, Priority.HIGH, List.of("iş"))
+        );
+        Todo first = new Todo();
+        Todo second = new Todo();
+        List<TodoResponse> saved = List.of(
+                new TodoResponse(10L, "Birinci", null, false, now, null, Priority.LOW, null, USER_EMAIL),
+                new TodoResponse(11L, "İkinci", null, false, now, null, Priority.HIGH, List.of("iş"), USER_EMAIL)
+        );
+
+        when(todoMapper.toEntity(requests.get(0))).thenReturn(first);
+        when(todoMapper.toEntity(requests.get(1))).thenReturn(second);
+        when(todoRepository.saveAll(List.of(first, second))).thenReturn(List.of(first, second));
+        when(todoMapper.toResponseList(List.of(first, second))).thenReturn(saved);
+
+        List<TodoBatchResult> results = todoService.createTodos(requests, USER_EMAIL);
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(201, 201);
+        assertThat(results).extracting(TodoBatchResult::id).containsExactly(10L, 11L);
+        assertThat(first.getUserEmail()).isEqualTo(USER_EMAIL);
+        assertThat(second.getUserEmail()).isEqualTo(USER_EMAIL);
+        verify(todoCacheWriter).putAll(USER_EMAIL, saved);
+        verify(eventPublisher).publishEvent(TodoChangedEvent.created(USER_EMAIL, saved));
+    }
+
+    @Test
+    void createTodos_whenOneItemIsInvalid_shouldSaveNothing() {
+        useRealValidator();
+        List<TodoCreateRequest> requests = List.of(
+                new TodoCreateRequest("Geçerli", null, null, Priority.LOW, null),
+                new TodoCreateRequest("", null, null, Priority.LOW, null),
+                new TodoCreateRequest("Bu da geçerli", null, null, Priority.MEDIUM, null)
+        );
+
+        List<TodoBatchResult> results = todoService.createTodos(requests, USER_EMAIL);
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(424, 400, 424);
+        assertThat(results.get(1).error()).contains("title: ");
+        assertThat(results.get(0).error()).isEqualTo("Batch içindeki başka bir öğe hatalı olduğu için uygulanmadı");
+        verify(todoMapper, never()).toEntity(any());
+        verify(todoRepository, never()).saveAll(any());
+        verifyNoInteractions(todoCacheWriter, eventPublisher);
+    }
+
+    @Test
+    void createTodos_whenBatchExceedsTheLimit_shouldThrowIllegalArgumentException() {
+        ReflectionTestUtils.setField(todoService, "maxBatchSize", 2);
+        TodoCreateRequest request = new TodoCreateRequest("Fazla", null, null, Priority.LOW, null);
+
+        assertThatThrownBy(() -> todoService.createTodos(List.of(request, request, request), USER_EMAIL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch size 3 exceeds the limit of 2");
+
+        verifyNoInteractions(todoRepository, todoMapper, todoCacheWriter, eventPublisher);
+    }
+
+    @Test
+    void updateTodos_whenOneTodoBelongsToAnotherUser_shouldUpdateNothing() {
+        useRealValidator();
+        TodoUpdateRequest changes = new TodoUpdateRequest("Yeni Başlık", null, true, null, null, null);
+        List<TodoBatchUpdateRequest> requests = List.of(
+                new TodoBatchUpdateRequest(1L, changes),
+                new TodoBatchUpdateRequest(2L, changes)
+        );
+
+        // todo 2 exists but is someone else's, so the owner-scoped lookup does not return it
+        when(todoRepository.findByIdsAndUserEmailWithTags(List.of(1L, 2L), USER_EMAIL)).thenReturn(List.of(sampleTodo));
+
+        List<TodoBatchResult> results = todoService.updateTodos(requests, USER_EMAIL);
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(424, 404);
+        assertThat(results).extracting(TodoBatchResult::id).containsExactly(1L, 2L);
+        assertThat(results.get(1).error()).isEqualTo("Todo not found with id: 2");
+        verify(todoMapper, never()).updateEntity(any(), any());
+        assertThat(sampleTodo.getTitle()).isEqualTo("Test Todo");
+        verifyNoInteractions(todoCacheWriter, eventPublisher);
+    }
+
+    @Test
+    void updateTodos_whenAllTodosAreOwned_shouldUpdateEveryOne() {
+        useRealValidator();
+        TodoUpdateRequest changes = new TodoUpdateRequest(null, null, true, null, null, null);
+        TodoResponse updatedResponse = new TodoResponse(1L, "Test Todo", null, true, now, null, Priority.MEDIUM, null, USER_EMAIL);
+
+        when(todoRepository.findByIdsAndUserEmailWithTags(List.of(1L), USER_EMAIL)).thenReturn(List.of(sampleTodo));
+        when(todoMapper.toResponse(sampleTodo)).thenReturn(sampleTodoResponse, updatedResponse);
+
+        List<TodoBatchResult> results = todoService.updateTodos(List.of(new TodoBatchUpdateRequest(1L, changes)), USER_EMAIL);
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(200);
+        verify(todoMapper).updateEntity(changes, sampleTodo);
+        verify(todoCacheWriter).putAll(eq(USER_EMAIL), argThat(responses -> responses.contains(updatedResponse)));
+        verify(eventPublisher).publishEvent(TodoChangedEvent.of(USER_EMAIL, sampleTodoResponse, updatedResponse));
+    }
+
+    @Test
+    void updateTodos_whenBatchExceedsTheLimit_shouldThrowIllegalArgumentException() {
+        ReflectionTestUtils.setField(todoService, "maxBatchSize", 1);
+        TodoUpdateRequest changes = new TodoUpdateRequest(null, null, true, null, null, null);
+        List<TodoBatchUpdateRequest> requests = List.of(
+                new TodoBatchUpdateRequest(1L, changes),
+                new TodoBatchUpdateRequest(2L, changes)
+        );
+
+        assertThatThrownBy(() -> todoService.updateTodos(requests, USER_EMAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void deleteTodos_whenOneTodoBelongsToAnotherUser_shouldDeleteNothing() {
+        when(todoRepository.findByIdsAndUserEmailWithTags(List.of(1L, 2L), USER_EMAIL)).thenReturn(List.of(sampleTodo));
+        when(todoMapper.toResponseList(List.of(sampleTodo))).thenReturn(List.of(sampleTodoResponse));
+
+        List<TodoBatchResult> results = todoService.deleteTodos(List.of(1L, 2L), USER_EMAIL);
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(424, 404);
+        verify(todoRepository, never()).deleteTagsByTodoIds(any());
+        verify(todoRepository, never()).deleteAllByIdInBatch(any());
+        verifyNoInteractions(todoCacheWriter, eventPublisher);
+    }
+
+    @Test
+    void deleteTodos_whenOneIdIsNull_shouldDeleteNothing() {
+        when(todoRepository.findByIdsAndUserEmailWithTags(List.of(1L), USER_EMAIL)).thenReturn(List.of(sampleTodo));
+        when(todoMapper.toResponseList(List.of(sampleTodo))).thenReturn(List.of(sampleTodoResponse));
+
+        List<TodoBatchResult> results = todoService.deleteTodos(Arrays.asList(1L, null), USER_EMAIL);
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(424, 400);
+        verify(todoRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void deleteTodos_whenAllTodosAreOwned_shouldDeleteThemInBatch() {
+        when(todoRepository.findByIdsAndUserEmailWithTags(List.of(1L), USER_EMAIL)).thenReturn(List.of(sampleTodo));
+        when(todoMapper.toResponseList(List.of(sampleTodo))).thenReturn(List.of(sampleTodoResponse));
+
+        List<TodoBatchResult> results = todoService.deleteTodos(List.of(1L), USER_EMAIL);
+
+        assertThat(results).extracting(TodoBatchResult::status).containsExactly(204);
+        verify(todoRepository).deleteTagsByTodoIds(Set.of(1L));
+        verify(todoRepository).deleteAllByIdInBatch(Set.of(1L));
+        verify(todoCacheWriter).evictAll(USER_EMAIL, Set.of(1L));
+        verify(eventPublisher).publishEvent(TodoChangedEvent.deleted(USER_EMAIL, List.of(sampleTodoResponse)));
+    }
+
+    @Test
+    void deleteTodos_whenBatchExceedsTheLimit_shouldThrowIllegalArgumentException() {
+        ReflectionTestUtils.setField(todoService, "maxBatchSize", 1);
+
+        assertThatThrownBy(() -> todoService.deleteTodos(List.of(1L, 2L), USER_EMAIL))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verifyNoInteractions(todoRepository);
+    }
+
+    // batch items are checked against the real DTO constraints
+    private void useRealValidator() {
+        ReflectionTestUtils.setField(todoService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.example.todoapp.service.impl;
+
+import com.example.todoapp.cache.TodoCacheWriter;
+import com.example.todoapp.cache.TodoCountCache;
+import com.example.todoapp.cache.TodoListCache;
+import com.example.todoapp.cache.TodoTagIndex;
+import com.example.todoapp.dto.SliceResponse;
+import com.example.todoapp.dto.TodoListQuery;
+import com.example.todoapp.dto.TodoResponse;
+import com.example.todoapp.enums.CountMode;
+import com.example.todoapp.enums.PagingMode;
+import com.example.todoapp.enums.Priority;
+import com.example.todoapp.enums.TagMatch;
+import com.example.todoapp.mapper.TodoMapper;
+import com.example.todoapp.repository.TodoFilter;
+import com.example.todoapp.repository.TodoRepository;
+import com.example.todoapp.repository.TodoRepositoryCustom;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * The list modes beside the exact page: estimated totals and tag-index lookups.
+ */
+@ExtendWith(MockitoExtension.class)
+class TodoServiceImplListTest {
+
+    private static final String USER_EMAIL = "test@turkcell.com.tr";
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoMapper todoMapper;
+
+    @Mock
+    private TodoCacheWriter todoCacheWriter;
+
+    @Mock
+    private TodoCountCache todoCountCache;
+
+    @Mock
+    private TodoListCache todoListCache;
+
+    @Mock
+    private TodoTagIndex todoTagIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Validator validator;
+
+    @InjectMocks
+    private TodoServiceImpl todoService;
+
+    private Pageable pageable;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now().toEpochMilli();
+        pageable = PageRequest.of(0, 10);
+    }
+
+    @Test
+    void getAllTodosWithEstimatedTotal_whenTagFilterExists_shouldEstimateWithTheTag() {
+        List<TodoResponse> rows = responses(3);
+        Pageable firstTwo = PageRequest.of(0, 2);
+
+        when(todoRepository.findTodoResponses(any(TodoFilter.class), any(), eq(0L), eq(3), eq(false)))
+                .thenReturn(new TodoRepositoryCustom.ResultPage(rows, null));
+        when(todoCountCache.estimate(argThat(filter -> "java".equals(filter.tag()) && filter.overdue() == null)))
+                .thenReturn(OptionalLong.of(7));
+
+        Page<TodoResponse> actualPage = todoService.getAllTodosWithEstimatedTotal(
+                null, null, "java", null, USER_EMAIL, firstTwo);
+
+        assertThat(actualPage.getContent()).hasSize(2);
+        assertThat(actualPage.getTotalElements()).isEqualTo(7);
+        verify(todoRepository, never()).countTodos(any());
+    }
+
+    @Test
+    void getAllTodosWithEstimatedTotal_whenOverdueFilterExists_shouldCountInstead() {
+        List<TodoResponse> rows = responses(3);
+        Pageable firstTwo = PageRequest.of(0, 2);
+
+        when(todoRepository.findTodoResponses(any(TodoFilter.class), any(), eq(0L), eq(3), eq(false)))
+                .thenReturn(new TodoRepositoryCustom.ResultPage(rows, null));
+        when(todoCountCache.estimate(any(TodoFilter.class))).thenReturn(OptionalLong.empty());
+        when(todoRepository.countTodos(argThat(filter -> Boolean.TRUE.equals(filter.overdue())))).thenReturn(5L);
+
+        Page<TodoResponse> actualPage = todoService.getAllTodosWithEstimatedTotal(
+                null, null, null, true, USER_EMAIL, firstTwo);
+
+        assertThat(actualPage.getContent()).hasSize(2);
+        assertThat(actualPage.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void getAllTodosWithEstimatedTotal_whenLastPage_shouldNotEstimate() {
+        when(todoRepository.findTodoResponses(any(TodoFilter.class), any(), eq(0L), eq(11), eq(false)))
+                .thenReturn(new TodoRepositoryCustom.ResultPage(responses(4), null));
+
+        Page<TodoResponse> actualPage = todoService.getAllTodosWithEstimatedTotal(
+                null, null, "java", true, USER_EMAIL, pageable);
+
+        assertThat(actualPage.getTotalElements()).isEqualTo(4);
+        verifyNoInteractions(todoCountCache);
+        verify(todoRepository, never()).countTodos(any());
+    }
+
+    @Test
+    void getAllTodosWithEstimatedTotal_whenCountersAreUnavailable_shouldCountExactly() {
+        List<TodoResponse> rows = responses(3);
+        Pageable firstTwo = PageRequest.of(0, 2);
+
+        when(todoRepository.findTodoResponses(any(TodoFilter.class), any(), eq(0L), eq(3), eq(false)))
+                .thenReturn(new TodoRepositoryCustom.ResultPage(rows, null));
+        when(todoCountCache.estimate(any(TodoFilter.class))).thenReturn(OptionalLong.empty());
+        when(todoRepository.countTodos(argThat(filter -> "java".equals(filter.tag())))).thenReturn(9L);
+
+        Page<TodoResponse> actualPage = todoService.getAllTodosWithEstimatedTotal(
+                null, null, "java", null, USER_EMAIL, firstTwo);
+
+        assertThat(actualPage.getTotalElements()).isEqualTo(9);
+    }
+
+    @Test
+    void getTodos_whenCountIsNone_shouldReturnASliceWithoutCounting() {
+        when(todoRepository.findTodoResponses(any(TodoFilter.class), any(), eq(0L), eq(11), eq(false)))
+                .thenReturn(new TodoRepositoryCustom.ResultPage(responses(11), null));
+        TodoListQuery query = new TodoListQuery(null, null, null, null, null, null, CountMode.NONE, PagingMode.OFFSET, null);
+
+        Object result = todoService.getTodos(query, USER_EMAIL, pageable);
+
+        assertThat(result).isInstanceOfSatisfying(SliceResponse.class, slice -> {
+            assertThat(slice.content()).hasSize(10);
+            assertThat(slice.hasNext()).isTrue();
+        });
+        verify(todoRepository, never()).countTodos(any());
+        verifyNoInteractions(todoCountCache);
+    }
+
+    @Test
+    void getTodos_whenTagsComeWithoutMatch_shouldRequireAllOfThem() {
+        when(todoTagIndex.match(eq(USER_EMAIL), eq(List.of("work")), eq(TagMatch.ALL), isNull(), isNull(), isNull(), anyLong()))
+                .thenReturn(Roaring64NavigableMap.bitmapOf(5, 9));
+        TodoListQuery query = new TodoListQuery(null, null, null, List.of("work"), null, null, null, PagingMode.OFFSET, null);
+
+        Object result = todoService.getTodos(query, USER_EMAIL, PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(result).isInstanceOfSatisfying(Page.class, page -> assertThat(page.getTotalElements()).isEqualTo(2));
+        verifyNoInteractions(todoListCache);
+    }
+
+    @Test
+    void getAllTodosByTags_whenSortedById_shouldFetchOnlyThePageIdsByRank() {
+        when(todoTagIndex.match(eq(USER_EMAIL), eq(List.of("work")), eq(TagMatch.ALL), isNull(), isNull(), isNull(), anyLong()))
+                .thenReturn(Roaring64NavigableMap.bitmapOf(5, 9, 20, 31, 40));
+        Pageable ascending = PageRequest.of(1, 2, Sort.by("id"));
+
+        Page<TodoResponse> page = todoService.getAllTodosByTags(
+                null, null, List.of(" work ", "work"), TagMatch.ALL, null, USER_EMAIL, ascending);
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        verify(todoRepository).findTodoResponsesByIds(any(TodoFilter.class), eq(new long[]{20, 31}), eq(ascending.getSort()), eq(0L), eq(2));
+    }
+
+    @Test
+    void getAllTodosByTags_whenSortedByIdDescending_shouldPickRanksFromTheEnd() {
+        when(todoTagIndex.match(eq(USER_EMAIL), eq(List.of("work")), eq(TagMatch.ANY), isNull(), isNull(), isNull(), anyLong()))
+                .thenReturn(Roaring64NavigableMap.bitmapOf(5, 9, 20, 31, 40));
+        Pageable descending = PageRequest.of(2, 2, Sort.by(Sort.Direction.DESC, "id"));
+
+        Page<TodoResponse> page = todoService.getAllTodosByTags(
+                null, null, List.of("work"), TagMatch.ANY, null, USER_EMAIL, descending);
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        verify(todoRepository).findTodoResponsesByIds(any(TodoFilter.class), eq(new long[]{5}), eq(descending.getSort()), eq(0L), eq(1));
+    }
+
+    @Test
+    void getAllTodosByTags_whenSortedByAnotherColumn_shouldLetTheDatabasePage() {
+        when(todoTagIndex.match(eq(USER_EMAIL), eq(List.of("work")), eq(TagMatch.ALL), isNull(), isNull(), isNull(), anyLong()))
+                .thenReturn(Roaring64NavigableMap.bitmapOf(5, 9, 20));
+        Pageable byTitle = PageRequest.of(1, 2, Sort.by("title"));
+
+        todoService.getAllTodosByTags(null, null, List.of("work"), TagMatch.ALL, null, USER_EMAIL, byTitle);
+
+        verify(todoRepository).findTodoResponsesByIds(any(TodoFilter.class), eq(new long[]{5, 9, 20}), eq(byTitle.getSort()), eq(2L), eq(2));
+    }
+
+    @Test
+    void getAllTodosByTags_whenOffsetIsPastTheMatches_shouldNotQuery() {
+        when(todoTagIndex.match(eq(USER_EMAIL), eq(List.of("work")), eq(TagMatch.ALL), isNull(), isNull(), isNull(), anyLong()))
+                .thenReturn(Roaring64NavigableMap.bitmapOf(5, 9));
+
+        Page<TodoResponse> page = todoService.getAllTodosByTags(
+                null, null, List.of("work"), TagMatch.ALL, null, USER_EMAIL, PageRequest.of(1, 2));
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        verifyNoInteractions(todoRepository);
+    }
+
+    private List<TodoResponse> responses(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new TodoResponse(id, "Todo " + id, null, false, now, null, Priority.LOW, null, USER_EMAIL))
+                .toList();
+    }
+}
\ No newline at end of file
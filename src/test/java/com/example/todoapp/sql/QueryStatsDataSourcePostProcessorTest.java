@@ -0,0 +1,96 @@
+package com.example.todoapp.sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryStatsDataSourcePostProcessorTest {
+
+    private static final String SQL = "SELECT id FROM todos";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(SQL)).thenReturn(resultSet);
+        QueryStats.begin(0, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryStats.end();
+    }
+
+    @Test
+    void postProcess_byDefault_shouldCountStatementsWithoutProxyingResultSets() throws SQLException {
+        DataSource proxied = proxy(false);
+
+        ResultSet rows = proxied.getConnection().createStatement().executeQuery(SQL);
+
+        assertThat(rows).isSameAs(resultSet);
+        assertThat(QueryStats.end().statements()).isEqualTo(1);
+    }
+
+    @Test
+    void postProcess_whenCountingReadRows_shouldCountEveryRowRead() throws SQLException {
+        when(resultSet.next()).thenReturn(true, true, false);
+        DataSource proxied = proxy(true);
+
+        ResultSet rows = proxied.getConnection().createStatement().executeQuery(SQL);
+        while (rows.next()) {
+            // read through
+        }
+
+        QueryStats stats = QueryStats.end();
+        assertThat(stats.statements()).isEqualTo(1);
+        assertThat(stats.rows()).isEqualTo(2);
+    }
+
+    @Test
+    void postProcess_inStrictMode_shouldCountReadRowsToo() throws SQLException {
+        when(resultSet.next()).thenReturn(true, false);
+        DataSource proxied = proxy(new MockEnvironment().withProperty("todo.sql.strict", "true"));
+
+        ResultSet rows = proxied.getConnection().createStatement().executeQuery(SQL);
+        while (rows.next()) {
+            // read through
+        }
+
+        assertThat(QueryStats.end().rows()).isEqualTo(1);
+    }
+
+    private DataSource proxy(boolean countReadRows) {
+        return proxy(new MockEnvironment().withProperty("todo.sql.count-read-rows", String.valueOf(countReadRows)));
+    }
+
+    private DataSource proxy(MockEnvironment environment) {
+        return (DataSource) new QueryStatsDataSourcePostProcessor(environment)
+                .postProcessAfterInitialization(dataSource, "dataSource");
+    }
+}
\ No newline at end of file
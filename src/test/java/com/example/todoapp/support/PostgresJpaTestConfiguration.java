@@ -0,0 +1,23 @@
+package com.example.todoapp.support;
+
+import com.example.todoapp.model.Todo;
+import com.example.todoapp.repository.TodoRepository;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+// JPA slice against a throwaway PostgreSQL, without the Feign/Kafka/Eureka setup of TodoappApplication
+@SpringBootConfiguration
+@EntityScan(basePackageClasses = Todo.class)
+@EnableJpaRepositories(basePackageClasses = TodoRepository.class)
+public class PostgresJpaTestConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+}
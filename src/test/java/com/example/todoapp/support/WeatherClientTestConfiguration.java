@@ -0,0 +1,30 @@
+package com.example.todoapp.support;
+
+import com.example.todoapp.client.ResilientWeatherClient;
+import com.example.todoapp.client.WeatherApiClient;
+import com.example.todoapp.config.WeatherClientConfig;
+import com.example.todoapp.weather.service.impl.WeatherServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+// the real Feign weather client and service, pointed at a stub server by the test, without the rest of TodoappApplication
+@SpringBootConfiguration
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+        FeignAutoConfiguration.class})
+@EnableFeignClients(clients = WeatherApiClient.class)
+@Import({WeatherClientConfig.class, ResilientWeatherClient.class, WeatherServiceImpl.class})
+public class WeatherClientTestConfiguration {
+
+    @Bean
+    MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+}
\ No newline at end of file
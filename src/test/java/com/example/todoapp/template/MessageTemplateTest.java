@@ -0,0 +1,45 @@
+package com.example.todoapp.template;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MessageTemplateTest {
+
+    @Test
+    void render_whenPlaceholdersRepeatAndReorder_shouldSubstituteByName() {
+        MessageTemplate template = MessageTemplate.compile("{b} then {a}, again {b}", "a", "b");
+
+        assertThat(template.render("first", "second")).isEqualTo("second then first, again second");
+    }
+
+    @Test
+    void render_whenNoPlaceholders_shouldReturnPattern() {
+        assertThat(MessageTemplate.compile("plain text").render()).isEqualTo("plain text");
+    }
+
+    @Test
+    void renderTo_shouldAppendToExistingBuilder() {
+        MessageTemplate line = MessageTemplate.compile("- {title}\n", "title");
+        StringBuilder body = new StringBuilder("Tasks:\n");
+
+        line.renderTo(body, "one");
+        line.renderTo(body, "two");
+
+        assertThat(body).hasToString("Tasks:\n- one\n- two\n");
+    }
+
+    @Test
+    void compile_whenPlaceholderIsUnknown_shouldThrow() {
+        assertThatThrownBy(() -> MessageTemplate.compile("Hello {name}", "title"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{name}");
+    }
+
+    @Test
+    void compile_whenPlaceholderIsUnclosed_shouldThrow() {
+        assertThatThrownBy(() -> MessageTemplate.compile("Hello {title", "title"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
\ No newline at end of file
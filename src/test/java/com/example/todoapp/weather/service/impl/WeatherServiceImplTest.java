@@ -0,0 +1,204 @@
+package com.example.todoapp.weather.service.impl;
+
+import com.example.todoapp.support.WeatherClientTestConfiguration;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Drives the real Feign client against a JDK HttpServer standing in for the weather API. The stub answers
+ * by normalized city name. Each test uses its own city so cache entries from other tests do not interfere.
+ */
+@SpringBootTest(classes = WeatherClientTestConfiguration.class, properties = {
+        "spring.cloud.config.enabled=false",
+        "weather.api.key=test-key",
+        "weather.cache.refresh-after-seconds=1",
+        "weather.cache.expire-after-seconds=60"
+})
+class WeatherServiceImplTest {
+
+    private static final HttpServer STUB = startStub();
+    private static final Map<String, AtomicInteger> CALLS = new ConcurrentHashMap<>();
+    private static final Map<String, Double> TEMPERATURES = new ConcurrentHashMap<>();
+    private static final Set<String> FAIL_ONCE = ConcurrentHashMap.newKeySet();
+    private static final Set<String> REQUESTED_NAMES = ConcurrentHashMap.newKeySet();
+    private static volatile long latencyMs;
+
+    @Autowired
+    private WeatherServiceImpl weatherService;
+
+    @DynamicPropertySource
+    static void weatherApi(DynamicPropertyRegistry registry) {
+        registry.add("weather.api.base-url", () -> "http://localhost:" + STUB.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        latencyMs = 0;
+    }
+
+    @Test
+    void normalize_shouldFoldCaseDiacriticsAndWhitespace() {
+        assertThat(WeatherServiceImpl.normalize("  İstanbul ")).isEqualTo("istanbul");
+        assertThat(WeatherServiceImpl.normalize("ISTANBUL")).isEqualTo("istanbul");
+        assertThat(WeatherServiceImpl.normalize("Şanlıurfa")).isEqualTo("sanliurfa");
+        assertThat(WeatherServiceImpl.normalize("New   York")).isEqualTo("new york");
+    }
+
+    @Test
+    void getTemperatureForCity_whenSpellingsDiffer_shouldShareOneUpstreamCall() {
+        TEMPERATURES.put("izmir", 25.0);
+
+        String first = weatherService.getTemperatureForCity("İzmir");
+        String second = weatherService.getTemperatureForCity(" IZMIR ");
+
+        assertThat(first).contains("25.0°C");
+        assertThat(second).contains("25.0°C");
+        assertThat(calls("izmir")).isEqualTo(1);
+    }
+
+    @Test
+    void getTemperatureForCity_whenMissesAreConcurrent_shouldCoalesceIntoOneUpstreamCall() throws Exception {
+        TEMPERATURES.put("ankara", 12.0);
+        latencyMs = 300;
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<String>> requests = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                requests.add(() -> weatherService.getTemperatureForCity("Ankara"));
+            }
+            for (Future<String> response : executor.invokeAll(requests)) {
+                assertThat(response.get()).contains("12.0°C");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(calls("ankara")).isEqualTo(1);
+    }
+
+    @Test
+    void getTemperatureForCity_whenEntryIsStale_shouldServeItWhileRefreshing() throws InterruptedException {
+        TEMPERATURES.put("bursa", 10.0);
+        assertThat(weatherService.getTemperatureForCity("Bursa")).contains("10.0°C");
+
+        TEMPERATURES.put("bursa", 11.0);
+        latencyMs = 500;
+        Thread.sleep(1_100);
+
+        long start = System.nanoTime();
+        String stale = weatherService.getTemperatureForCity("Bursa");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(stale).contains("10.0°C");
+        assertThat(elapsedMs).isLessThan(latencyMs);
+        await().untilAsserted(() -> assertThat(weatherService.getTemperatureForCity("Bursa")).contains("11.0°C"));
+        assertThat(calls("bursa")).isEqualTo(2);
+    }
+
+    @Test
+    void getTemperatureForCity_whenUpstreamFails_shouldNotCacheTheFailure() {
+        TEMPERATURES.put("konya", 30.0);
+        FAIL_ONCE.add("konya");
+
+        assertThat(weatherService.getTemperatureForCity("Konya")).contains("hata oluştu");
+        assertThat(weatherService.getTemperatureForCity("Konya")).contains("30.0°C");
+        assertThat(calls("konya")).isEqualTo(2);
+    }
+
+    @Test
+    void getTemperatureForCity_shouldAskUpstreamWithTheNameAsTyped() {
+        TEMPERATURES.put("mus", 8.0);
+
+        // decomposed input, as some keyboards send it; upstream gets the composed form
+        assertThat(weatherService.getTemperatureForCity(" Mus\u0327 ")).contains("8.0°C");
+
+        assertThat(REQUESTED_NAMES).contains("Muş").doesNotContain("mus");
+    }
+
+    private static int calls(String city) {
+        return CALLS.getOrDefault(city, new AtomicInteger()).get();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 64);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/current.json", WeatherServiceImplTest::respond);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        String name = query(exchange, "q");
+        REQUESTED_NAMES.add(name);
+        String city = WeatherServiceImpl.normalize(name);
+        CALLS.computeIfAbsent(city, c -> new AtomicInteger()).incrementAndGet();
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Double temperature = TEMPERATURES.get(city);
+        if (FAIL_ONCE.remove(city) || temperature == null) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+
+        byte[] body = ("{\"current\":{\"temp_c\":" + temperature + ",\"feelslike_c\":" + temperature
+                + ",\"humidity\":50}}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String query(HttpExchange exchange, String name) {
+        for (String pair : exchange.getRequestURI().getRawQuery().split("&")) {
+            int equals = pair.indexOf('=');
+            if (pair.substring(0, equals).equals(name)) {
+                return URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return "";
+    }
+}
\ No newline at end of file